@@ -3,6 +3,7 @@ package mb.oauth2authorizationserver.api.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.api.response.SessionEvictionJobResponse;
 import mb.oauth2authorizationserver.constants.ErrorMessageConstants;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
 import mb.oauth2authorizationserver.model.enums.AuthorityType;
@@ -32,6 +33,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Controller
@@ -288,18 +290,24 @@ public class AdminController {
     }
 
     @GetMapping("/admin/sessions/{sessionId}/evict")
-    public String evictSession(@PathVariable java.util.UUID sessionId, RedirectAttributes redirectAttrs) {
+    public String evictSession(@PathVariable UUID sessionId, RedirectAttributes redirectAttrs) {
         redirectAttrs.addFlashAttribute(ServiceConstants.MESSAGE, adminService.evictSession(sessionId));
         return "redirect:/admin/sessions";
     }
 
     @GetMapping("/admin/sessions/logout")
     public String evictAllSession(RedirectAttributes redirectAttrs) {
-        adminService.evictAllSessions();
-        redirectAttrs.addFlashAttribute(ServiceConstants.MESSAGE, ErrorMessageConstants.SESSION_EVICTED);
+        SessionEvictionJobResponse job = adminService.evictAllSessions();
+        redirectAttrs.addFlashAttribute(ServiceConstants.MESSAGE, ErrorMessageConstants.SESSION_EVICTION_STARTED);
+        redirectAttrs.addFlashAttribute("evictionJobId", job.jobId());
         return "redirect:/admin/sessions";
     }
 
+    @GetMapping(value = "/admin/sessions/evictions/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SessionEvictionJobResponse> getSessionEvictionJob(@PathVariable UUID jobId) {
+        return ResponseEntity.of(adminService.findSessionEvictionJob(jobId));
+    }
+
     /**
      * Trims the input and returns {@code null} when the value is blank.
      */
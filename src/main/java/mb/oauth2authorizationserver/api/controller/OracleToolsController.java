@@ -14,9 +14,12 @@ import mb.oauth2authorizationserver.api.request.MigrationRequest;
 import mb.oauth2authorizationserver.api.request.ScriptGenerationRequest;
 import mb.oauth2authorizationserver.api.response.ScriptGenerationResponse;
 import mb.oauth2authorizationserver.service.OracleToolsService;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -216,6 +219,7 @@ public class OracleToolsController {
                             content = @Content(mediaType = "text/plain", examples = @ExampleObject(value = "Migration started successfully. Check logs for progress."))
                     ),
                     @ApiResponse(responseCode = "400", description = "Invalid request body"),
+                    @ApiResponse(responseCode = "409", description = "A migration is already running and another one is queued"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             }
     )
@@ -224,4 +228,13 @@ public class OracleToolsController {
         oracleToolsService.migrate(request);
         return ResponseEntity.ok("Migration started successfully. Check logs for progress.");
     }
+
+    /**
+     * The migration executor runs one migration and queues one more, further requests are rejected by it.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<String> handleMigrationRejected(TaskRejectedException ex) {
+        log.warn("Migration rejected, one is already running and another one is queued. handleMigrationRejected - Exception: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("A migration is already running and another one is queued. Try again later.");
+    }
 }
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
 import mb.oauth2authorizationserver.utils.ClientUtils;
+import mb.oauth2authorizationserver.utils.RequestPathUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jspecify.annotations.NonNull;
@@ -25,6 +26,11 @@ import java.io.IOException;
 @Order(Ordered.HIGHEST_PRECEDENCE + 2)
 public class ClientCookieFilter extends OncePerRequestFilter {
 
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return RequestPathUtils.isFastPath(request);
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest httpServletRequest, @NonNull HttpServletResponse httpServletResponse, @NonNull FilterChain filterChain) throws ServletException, IOException {
         if (StringUtils.isBlank(ClientUtils.getDeviceId(httpServletRequest))) {
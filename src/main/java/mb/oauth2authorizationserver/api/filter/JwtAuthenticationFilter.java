@@ -8,12 +8,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache.VerifiedJwt;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.exception.ExceptionUtils;
+import mb.oauth2authorizationserver.utils.BearerTokenUtils;
+import mb.oauth2authorizationserver.utils.RequestPathUtils;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -26,7 +27,6 @@ import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.node.ObjectNode;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Objects;
 
 @Slf4j
@@ -35,12 +35,19 @@ import java.util.Objects;
 public class JwtAuthenticationFilter extends GenericFilterBean {
 
     private static final String ROLES = "roles";
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
 
     private final ObjectMapper objectMapper;
     private final JwtDecoder jwtDecoder;
+    private final VerifiedJwtCache verifiedJwtCache;
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain) throws IOException, ServletException {
+        if (RequestPathUtils.isFastPath((HttpServletRequest) request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         Authentication authentication = getAuthentication((HttpServletRequest) request, (HttpServletResponse) response);
 
         if (Objects.nonNull(authentication)) {
@@ -55,23 +62,18 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
     }
 
     private Authentication getAuthentication(HttpServletRequest request, HttpServletResponse response) throws IOException {
-        String token = request.getHeader(ServiceConstants.AUTHORIZATION_HEADER_STRING);
+        String token = BearerTokenUtils.resolveToken(request.getHeader(ServiceConstants.AUTHORIZATION_HEADER_STRING));
 
-        if (StringUtils.isNotBlank(token) && token.startsWith(ServiceConstants.TOKEN_PREFIX)) {
-            token = token.substring(7);
+        if (Objects.nonNull(token)) {
             try {
-                Jwt jwt = jwtDecoder.decode(token);
-                List<SimpleGrantedAuthority> authorities = jwt.getClaimAsStringList(ROLES)
-                        .stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .toList();
+                VerifiedJwt verifiedJwt = verifiedJwtCache.get(token, this::verify);
 
-                JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwt, authorities);
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                JwtAuthenticationToken authentication = new JwtAuthenticationToken(verifiedJwt.jwt(), verifiedJwt.authorities());
+                authentication.setDetails(DETAILS_SOURCE.buildDetails(request));
 
                 return authentication;
             } catch (JwtException e) {
-                log.error("Jwt exception is occurred while decoding token. getAuthentication - Exception: {}", ExceptionUtils.getStackTrace(e));
+                log.warn("Invalid token is rejected. getAuthentication - Exception: {}", e.getMessage());
                 response.setContentType(MediaType.APPLICATION_JSON_VALUE);
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
 
@@ -79,8 +81,7 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
                 rootNode.put(ServiceConstants.SUCCESS, false)
                         .put(ServiceConstants.MESSAGE, "Invalid token");
 
-                String jsonString = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(rootNode);
-                response.getWriter().write(jsonString);
+                response.getWriter().write(objectMapper.writeValueAsString(rootNode));
                 return null;
             } catch (Exception _) {
                 return null;
@@ -88,4 +89,9 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
         }
         return null;
     }
+
+    private VerifiedJwt verify(String token) {
+        Jwt jwt = jwtDecoder.decode(token);
+        return new VerifiedJwt(jwt, BearerTokenUtils.toAuthorities(jwt.getClaimAsStringList(ROLES)));
+    }
 }
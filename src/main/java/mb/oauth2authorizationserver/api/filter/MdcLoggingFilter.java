@@ -6,29 +6,94 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
+import mb.oauth2authorizationserver.utils.RequestPathUtils;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
 
+/**
+ * Populates the logging MDC without touching the session store.
+ * <p>
+ * The session id is only logged when a session already exists, so stateless API and token requests never create
+ * one. The request id is taken from {@code X-Request-Id} (or generated) and echoed back, and the trace id falls
+ * back to the {@code traceparent} header when no tracer has set it yet. Only the keys added here are removed
+ * afterwards, so entries owned by the tracing bridge are left alone.
+ */
 @Component
 public class MdcLoggingFilter implements Filter {
 
+    private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("[A-Za-z0-9._:-]{1,128}");
+    private static final Pattern TRACEPARENT_PATTERN = Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "00000000000000000000000000000000";
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-        try {
-            HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        if (RequestPathUtils.isFastPath(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
 
+        boolean traceIdAdded = false;
+
+        try {
             Optional.ofNullable(httpRequest.getHeader(ServiceConstants.USERNAME))
                     .or(() -> Optional.ofNullable(httpRequest.getHeader(ServiceConstants.USERNAME_WITH_UNDERSCORE)))
                     .ifPresent(username -> MDC.put(ServiceConstants.USERNAME, username));
-            MDC.put("sessionId", httpRequest.getSession().getId());
+
+            HttpSession session = httpRequest.getSession(false);
+            if (Objects.nonNull(session)) {
+                MDC.put(ServiceConstants.SESSION_ID, session.getId());
+            }
+
+            String requestId = resolveRequestId(httpRequest.getHeader(ServiceConstants.REQUEST_ID_HEADER));
+            MDC.put(ServiceConstants.REQUEST_ID, requestId);
+            if (response instanceof HttpServletResponse httpResponse) {
+                httpResponse.setHeader(ServiceConstants.REQUEST_ID_HEADER, requestId);
+            }
+
+            if (Objects.isNull(MDC.get(ServiceConstants.TRACE_ID))) {
+                String traceId = resolveTraceId(httpRequest.getHeader(ServiceConstants.TRACEPARENT_HEADER));
+                if (Objects.nonNull(traceId)) {
+                    MDC.put(ServiceConstants.TRACE_ID, traceId);
+                    traceIdAdded = true;
+                }
+            }
 
             chain.doFilter(request, response);
         } finally {
-            MDC.clear();
+            MDC.remove(ServiceConstants.USERNAME);
+            MDC.remove(ServiceConstants.SESSION_ID);
+            MDC.remove(ServiceConstants.REQUEST_ID);
+            if (traceIdAdded) {
+                MDC.remove(ServiceConstants.TRACE_ID);
+            }
+        }
+    }
+
+    private static String resolveRequestId(String header) {
+        if (Objects.nonNull(header) && REQUEST_ID_PATTERN.matcher(header).matches()) {
+            return header;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private static String resolveTraceId(String traceparent) {
+        if (Objects.isNull(traceparent)) {
+            return null;
+        }
+        var matcher = TRACEPARENT_PATTERN.matcher(traceparent);
+        if (!matcher.matches() || INVALID_TRACE_ID.equals(matcher.group(1))) {
+            return null;
         }
+        return matcher.group(1);
     }
 }
@@ -0,0 +1,62 @@
+package mb.oauth2authorizationserver.api.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Answers one-time-token generate requests that the token service refused.
+ * <p>
+ * Spring Security's generate filter has no failure handler and the exception handler advice does not see exceptions
+ * thrown in filters, so this filter runs in front of it and turns a full store into {@code 503} and a source over its
+ * limit into {@code 429}, both with {@code Retry-After} set to {@code ott.ttl}, the time after which the refused
+ * tokens' slots are free again.
+ */
+@Slf4j
+public class OneTimeTokenGenerationFailureFilter extends OncePerRequestFilter {
+
+    private static final Set<OAuth2AuthorizationServerServiceErrorCode> HANDLED_ERROR_CODES = Set.of(
+            OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_STORE_FULL,
+            OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_SOURCE_LIMIT);
+
+    private final RequestMatcher generateRequestMatcher;
+    private final long retryAfterSeconds;
+
+    public OneTimeTokenGenerationFailureFilter(String generateTokenUrl, Duration retryAfter) {
+        this.generateRequestMatcher = PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, generateTokenUrl);
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !generateRequestMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest httpServletRequest, @NonNull HttpServletResponse httpServletResponse, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(httpServletRequest, httpServletResponse);
+        } catch (BaseException e) {
+            if (!(e.getErrorCode() instanceof OAuth2AuthorizationServerServiceErrorCode errorCode) || !HANDLED_ERROR_CODES.contains(errorCode) || httpServletResponse.isCommitted()) {
+                throw e;
+            }
+            log.debug("One-time token generation refused. errorCode: {}", errorCode);
+            httpServletResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            httpServletResponse.sendError(errorCode.getHttpStatus().value());
+        }
+    }
+}
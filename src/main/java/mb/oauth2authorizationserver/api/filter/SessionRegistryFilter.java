@@ -1,42 +1,85 @@
 package mb.oauth2authorizationserver.api.filter;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
-import lombok.RequiredArgsConstructor;
+import mb.oauth2authorizationserver.utils.RequestPathUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.GenericFilterBean;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Objects;
 
+/**
+ * Registers authenticated sessions that were created outside of the session management flow.
+ * <p>
+ * Once a session is registered the registration time is stored on the session itself, so the registry is called
+ * once per {@code session.registry.marker-ttl} instead of on every request. The marker travels with the session, so
+ * it is re-validated after the TTL: a registry entry that was lost (e.g. evicted or pruned) is restored by the next
+ * request after that. Registering is idempotent, so the session is registered without asking the registry whether it
+ * already knows it.
+ */
 @Component
-@RequiredArgsConstructor
 public class SessionRegistryFilter extends GenericFilterBean {
 
+    static final String REGISTERED_MARKER = SessionRegistryFilter.class.getName() + ".REGISTERED";
+
+    private static final String METRIC_NAME = "session.registry.filter";
+    private static final String RESULT_TAG = "result";
+
     private final SessionRegistry sessionRegistry;
+    private final long markerTtlMillis;
+    private final Counter markerHits;
+    private final Counter registrations;
+
+    public SessionRegistryFilter(SessionRegistry sessionRegistry,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${session.registry.marker-ttl:PT5M}") Duration markerTtl) {
+        this.sessionRegistry = sessionRegistry;
+        this.markerTtlMillis = markerTtl.toMillis();
+        this.markerHits = Counter.builder(METRIC_NAME).tag(RESULT_TAG, "marker").description("Requests answered from the session marker").register(meterRegistry);
+        this.registrations = Counter.builder(METRIC_NAME).tag(RESULT_TAG, "registered").description("Sessions registered by the filter").register(meterRegistry);
+    }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         final HttpServletRequest request = (HttpServletRequest) servletRequest;
+        if (RequestPathUtils.isFastPath(request)) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
 
         final HttpSession session = request.getSession(false);
         if (Objects.nonNull(session)) {
-            final SessionInformation info = sessionRegistry.getSessionInformation(session.getId());
-            if (Objects.isNull(info)) {
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                if (Objects.nonNull(authentication) && Objects.nonNull(authentication.getPrincipal())) {
-                    sessionRegistry.registerNewSession(session.getId(), authentication.getPrincipal());
-                }
-            }
+            registerIfNecessary(session);
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
+
+    private void registerIfNecessary(HttpSession session) {
+        long now = System.currentTimeMillis();
+        if (session.getAttribute(REGISTERED_MARKER) instanceof Long registeredAt && now - registeredAt < markerTtlMillis) {
+            markerHits.increment();
+            return;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (Objects.isNull(authentication) || Objects.isNull(authentication.getPrincipal())) {
+            return;
+        }
+
+        sessionRegistry.registerNewSession(session.getId(), authentication.getPrincipal());
+        registrations.increment();
+        session.setAttribute(REGISTERED_MARKER, now);
+    }
 }
@@ -0,0 +1,73 @@
+package mb.oauth2authorizationserver.api.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mb.oauth2authorizationserver.config.security.TokenRateLimiter;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.http.converter.OAuth2ErrorHttpMessageConverter;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Applies {@link TokenRateLimiter} to token requests.
+ * <p>
+ * Runs in the authorization server chain between client authentication and the token endpoint, so the limit is looked up for the
+ * authenticated {@link RegisteredClient} and a throttled request never reaches the grant providers. Throttled
+ * requests get {@code 429} with {@code Retry-After} in seconds and an OAuth2 error body.
+ */
+public class TokenRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String TOO_MANY_REQUESTS = "too_many_requests";
+
+    private final TokenRateLimiter tokenRateLimiter;
+    private final RequestMatcher tokenEndpointMatcher;
+    private final OAuth2ErrorHttpMessageConverter errorHttpResponseConverter = new OAuth2ErrorHttpMessageConverter();
+
+    public TokenRateLimitFilter(TokenRateLimiter tokenRateLimiter, String tokenEndpoint) {
+        this.tokenRateLimiter = tokenRateLimiter;
+        this.tokenEndpointMatcher = PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, tokenEndpoint);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !tokenEndpointMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest httpServletRequest, @NonNull HttpServletResponse httpServletResponse, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof OAuth2ClientAuthenticationToken clientAuthentication) {
+            RegisteredClient registeredClient = clientAuthentication.getRegisteredClient();
+            Optional<Duration> retryAfter = registeredClient != null ? tokenRateLimiter.acquire(registeredClient) : Optional.empty();
+            if (retryAfter.isPresent()) {
+                writeTooManyRequests(httpServletResponse, retryAfter.get());
+                return;
+            }
+        }
+        filterChain.doFilter(httpServletRequest, httpServletResponse);
+    }
+
+    private void writeTooManyRequests(HttpServletResponse httpServletResponse, Duration retryAfter) throws IOException {
+        long retryAfterSeconds = Math.max(1, retryAfter.toSeconds() + (retryAfter.toNanosPart() > 0 ? 1 : 0));
+        ServletServerHttpResponse response = new ServletServerHttpResponse(httpServletResponse);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        errorHttpResponseConverter.write(new OAuth2Error(TOO_MANY_REQUESTS, "Token request rate limit exceeded", null), null, response);
+    }
+}
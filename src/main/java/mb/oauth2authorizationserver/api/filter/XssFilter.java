@@ -4,6 +4,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import mb.oauth2authorizationserver.config.XssProperties;
+import mb.oauth2authorizationserver.exception.RequestBodyTooLargeException;
+import mb.oauth2authorizationserver.utils.RequestPathUtils;
 import org.jspecify.annotations.NonNull;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -13,13 +17,36 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
+@RequiredArgsConstructor
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class XssFilter extends OncePerRequestFilter {
 
+    private final XssProperties xssProperties;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return RequestPathUtils.isFastPath(request);
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
-        filterChain.doFilter(new XssRequestWrapper(request), response);
+        boolean sanitizeBody = xssProperties.isSanitizedContentType(request.getContentType());
+        long maxBodySize = xssProperties.getMaxBodySize().toBytes();
+
+        if (sanitizeBody && request.getContentLengthLong() > maxBodySize) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(new XssRequestWrapper(request, sanitizeBody, maxBodySize), response);
+        } catch (RequestBodyTooLargeException _) {
+            // Body read outside of Spring MVC, e.g. by another filter, so no exception handler has answered it yet
+            if (!response.isCommitted()) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            }
+        }
     }
 }
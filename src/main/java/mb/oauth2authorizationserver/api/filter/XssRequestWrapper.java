@@ -4,42 +4,69 @@ import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import mb.oauth2authorizationserver.exception.RequestBodyTooLargeException;
 import mb.oauth2authorizationserver.utils.XssSanitizerUtils;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.endpoint.PkceParameterNames;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class XssRequestWrapper extends HttpServletRequestWrapper {
 
+    /**
+     * OAuth 2.0 protocol parameters and login credentials are opaque values or URIs that are compared byte for byte,
+     * HTML encoding them would only break the comparison.
+     */
+    private static final Set<String> EXEMPT_PARAMETERS = Set.of(
+            ServiceConstants.USERNAME,
+            ServiceConstants.PASSWORD,
+            OAuth2ParameterNames.CLIENT_SECRET,
+            OAuth2ParameterNames.CLIENT_ASSERTION,
+            OAuth2ParameterNames.CODE,
+            OAuth2ParameterNames.REFRESH_TOKEN,
+            OAuth2ParameterNames.ASSERTION,
+            OAuth2ParameterNames.TOKEN,
+            OAuth2ParameterNames.STATE,
+            OAuth2ParameterNames.REDIRECT_URI,
+            PkceParameterNames.CODE_VERIFIER
+    );
+
+    private final boolean sanitizeBody;
+    private final long maxBodySize;
     private byte[] cachedBody;
+    private Map<String, String[]> sanitizedParameters;
 
-    public XssRequestWrapper(HttpServletRequest request) {
+    public XssRequestWrapper(HttpServletRequest request, boolean sanitizeBody, long maxBodySize) {
         super(request);
+        this.sanitizeBody = sanitizeBody;
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
     public String getParameter(String name) {
-        return XssSanitizerUtils.sanitize(super.getParameter(name));
+        String[] values = getSanitizedParameters().get(name);
+        return values == null || values.length == 0 ? null : values[0];
     }
 
     @Override
     public String[] getParameterValues(String name) {
-        return Optional.ofNullable(super.getParameterValues(name))
-                .map(sanitized -> {
-                    for (int i = 0; i < sanitized.length; i++) {
-                        sanitized[i] = XssSanitizerUtils.sanitize(sanitized[i]);
-                    }
-                    return sanitized;
-                })
-                .orElse(null);
+        String[] values = getSanitizedParameters().get(name);
+        return values == null ? null : values.clone();
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
+        if (!sanitizeBody) {
+            return super.getInputStream();
+        }
         if (cachedBody == null) {
             cachedBody = readAndSanitizeBody();
         }
@@ -48,12 +75,44 @@ public class XssRequestWrapper extends HttpServletRequestWrapper {
 
     @Override
     public BufferedReader getReader() throws IOException {
+        if (!sanitizeBody) {
+            return super.getReader();
+        }
         return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
     }
 
+    /**
+     * Sanitizes every parameter once, on first access. The container's own arrays are never modified.
+     */
+    private Map<String, String[]> getSanitizedParameters() {
+        if (sanitizedParameters == null) {
+            Map<String, String[]> parameters = super.getParameterMap();
+            Map<String, String[]> sanitized = HashMap.newHashMap(parameters.size());
+            parameters.forEach((name, values) -> sanitized.put(name, EXEMPT_PARAMETERS.contains(name) ? values : sanitize(values)));
+            sanitizedParameters = sanitized;
+        }
+        return sanitizedParameters;
+    }
+
+    private static String[] sanitize(String[] values) {
+        String[] sanitized = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sanitized[i] = XssSanitizerUtils.sanitize(values[i]);
+        }
+        return sanitized;
+    }
+
+    /**
+     * The body is buffered up to {@code maxBodySize} and then sanitized in one pass, it is not streamed to the
+     * controller. The limit is what keeps the buffer bounded for chunked bodies without a Content-Length.
+     */
     private byte[] readAndSanitizeBody() throws IOException {
-        String body = new String(super.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-        return XssSanitizerUtils.sanitizeJson(body).getBytes(StandardCharsets.UTF_8);
+        int limit = (int) Math.min(maxBodySize + 1, Integer.MAX_VALUE - 8);
+        byte[] body = super.getInputStream().readNBytes(limit);
+        if (body.length > maxBodySize) {
+            throw new RequestBodyTooLargeException(maxBodySize);
+        }
+        return XssSanitizerUtils.sanitizeJson(body);
     }
 
     private static class CachedServletInputStream extends ServletInputStream {
@@ -68,6 +127,11 @@ public class XssRequestWrapper extends HttpServletRequestWrapper {
             return inputStream.read();
         }
 
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            return inputStream.read(buffer, offset, length);
+        }
+
         @Override
         public boolean isFinished() {
             return inputStream.available() == 0;
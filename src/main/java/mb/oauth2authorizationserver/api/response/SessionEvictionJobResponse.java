@@ -0,0 +1,9 @@
+package mb.oauth2authorizationserver.api.response;
+
+import mb.oauth2authorizationserver.model.enums.SessionEvictionStatus;
+
+import java.util.UUID;
+
+public record SessionEvictionJobResponse(UUID jobId, SessionEvictionStatus status, long total, long evicted) {
+
+}
@@ -0,0 +1,171 @@
+package mb.oauth2authorizationserver.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.security.model.HttpRequestDetails;
+import mb.oauth2authorizationserver.data.entity.Authority;
+import mb.oauth2authorizationserver.data.entity.SecurityUser;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.FactorGrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.jackson.SecurityJacksonModules;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Spring Session serializer that writes security contexts as JSON instead of JDK serialization.
+ * <p>
+ * JSON is only written for values made entirely of types the Spring Security Jackson modules and the mixins below
+ * can read back: strings, booleans and security contexts holding a username/password authentication of a
+ * {@link SecurityUser}. Anything else is JDK-serialized as before. Reads detect the format from the JDK stream
+ * header, so sessions written before the switch, or by nodes running with JSON disabled, stay readable.
+ */
+@Slf4j
+public class CompactSessionRedisSerializer implements RedisSerializer<@NonNull Object> {
+
+    private static final byte JDK_STREAM_MAGIC_FIRST = (byte) 0xAC;
+    private static final byte JDK_STREAM_MAGIC_SECOND = (byte) 0xED;
+
+    private static final Set<Class<?>> JSON_PRINCIPAL_TYPES = Set.of(String.class, SecurityUser.class);
+    private static final Set<Class<?>> JSON_DETAILS_TYPES = Set.of(WebAuthenticationDetails.class, HttpRequestDetails.class);
+    private static final Set<Class<?>> JSON_AUTHORITY_TYPES = Set.of(Authority.class, SimpleGrantedAuthority.class, FactorGrantedAuthority.class);
+
+    private static final ThreadLocal<Map<Object, byte[]>> READ_CAPTURE = new ThreadLocal<>();
+
+    private final ObjectMapper objectMapper;
+    private final RedisSerializer<@NonNull Object> jdkSerializer;
+    private final boolean writeJson;
+
+    /**
+     * @param writeJson {@code false} keeps writing JDK serialization while still reading JSON written by other nodes
+     */
+    public CompactSessionRedisSerializer(ClassLoader classLoader, boolean writeJson) {
+        BasicPolymorphicTypeValidator.Builder typeValidator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType(SecurityUser.class)
+                .allowIfSubType(Authority.class)
+                .allowIfSubType(HttpRequestDetails.class);
+        this.objectMapper = JsonMapper.builder()
+                .addModules(SecurityJacksonModules.getModules(classLoader, typeValidator))
+                .addMixIn(SecurityUser.class, TypedEntityMixin.class)
+                .addMixIn(Authority.class, TypedEntityMixin.class)
+                .build();
+        this.jdkSerializer = RedisSerializer.java(classLoader);
+        this.writeJson = writeJson;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) {
+        if (!writeJson || !isJsonCompatible(value)) {
+            return jdkSerializer.serialize(value);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JacksonException e) {
+            log.warn("Session attribute could not be written as JSON, falling back to JDK serialization. type: {}, serialize - Exception: {}", value.getClass().getName(), ExceptionUtils.getStackTrace(e));
+            return jdkSerializer.serialize(value);
+        }
+    }
+
+    /**
+     * A JSON value that can no longer be read is dropped instead of failing the whole session; the user then
+     * signs in again.
+     */
+    @Override
+    public @Nullable Object deserialize(byte @Nullable [] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        Object value = read(bytes);
+        Map<Object, byte[]> capture = READ_CAPTURE.get();
+        if (capture != null && value != null) {
+            capture.put(value, bytes);
+        }
+        return value;
+    }
+
+    /**
+     * Runs {@code action} while recording the stored bytes of every value it deserializes on this thread, keyed by
+     * value identity. Lets callers tell later whether a value was changed without serializing it on read.
+     */
+    public <T> T captureReads(Map<Object, byte[]> capture, Supplier<T> action) {
+        READ_CAPTURE.set(capture);
+        try {
+            return action.get();
+        } finally {
+            READ_CAPTURE.remove();
+        }
+    }
+
+    private @Nullable Object read(byte[] bytes) {
+        if (bytes.length > 1 && bytes[0] == JDK_STREAM_MAGIC_FIRST && bytes[1] == JDK_STREAM_MAGIC_SECOND) {
+            return jdkSerializer.deserialize(bytes);
+        }
+        try {
+            return objectMapper.readValue(bytes, Object.class);
+        } catch (JacksonException e) {
+            log.warn("Session attribute could not be read as JSON and is dropped. deserialize - Exception: {}", ExceptionUtils.getStackTrace(e));
+            return null;
+        }
+    }
+
+    private static boolean isJsonCompatible(@Nullable Object value) {
+        return switch (value) {
+            case String _, Boolean _ -> true;
+            case SecurityContextImpl securityContext -> isJsonCompatible(securityContext);
+            case null, default -> false;
+        };
+    }
+
+    private static boolean isJsonCompatible(SecurityContext securityContext) {
+        Authentication authentication = securityContext.getAuthentication();
+        if (authentication == null) {
+            return true;
+        }
+        if (authentication.getClass() != UsernamePasswordAuthenticationToken.class
+                || authentication.getPrincipal() == null
+                || !JSON_PRINCIPAL_TYPES.contains(authentication.getPrincipal().getClass())
+                || (authentication.getDetails() != null && !JSON_DETAILS_TYPES.contains(authentication.getDetails().getClass()))) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (!JSON_AUTHORITY_TYPES.contains(authority.getClass())) {
+                return false;
+            }
+        }
+        return !(authentication.getPrincipal() instanceof SecurityUser user) || hasJsonAuthorities(user);
+    }
+
+    private static boolean hasJsonAuthorities(SecurityUser user) {
+        for (GrantedAuthority authority : user.getAuthorities()) {
+            if (authority.getClass() != Authority.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Entities are referenced as {@code Object} or {@code GrantedAuthority} by the security tokens, so they carry
+     * their class name like the Spring Security types do.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+    interface TypedEntityMixin {
+    }
+}
@@ -7,6 +7,11 @@ import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 @Configuration(proxyBeanMethods = false)
 public class ContextPropagationConfig {
 
+    /**
+     * Picked up by the auto-configured {@code applicationTaskExecutor}, so {@code @Async} tasks keep the caller's
+     * MDC and observation context both on the platform-thread pool and on virtual threads
+     * ({@code spring.threads.virtual.enabled}).
+     */
     @Bean
     public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
         return new ContextPropagatingTaskDecorator();
@@ -0,0 +1,184 @@
+package mb.oauth2authorizationserver.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.data.redis.RedisIndexedSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Session repository that keeps unchanged attributes and frequent access-time updates out of Redis.
+ * <p>
+ * {@link RedisIndexedSessionRepository} writes every attribute that was set during the request, even when the same
+ * value is put back, and a security context in the delta also rewrites the principal index. Sessions loaded here
+ * remember the stored bytes of each attribute, and a set whose serialized form matches them is not passed on.
+ * The last access time is only forwarded once per {@code session.touch-interval}, so a request that changes nothing
+ * leaves the delta empty and the repository skips the write, index update and TTL refresh altogether.
+ */
+public class DirtyCheckingSessionRepository implements FindByIndexNameSessionRepository<DirtyCheckingSessionRepository.DirtyCheckingSession> {
+
+    private static final String RESULT_TAG = "result";
+
+    private final RedisIndexedSessionRepository delegate;
+    private final CompactSessionRedisSerializer serializer;
+    private final Duration touchInterval;
+    private final DistributionSummary writeBytes;
+    private final Counter attributesWritten;
+    private final Counter attributesSkipped;
+    private final Counter touchesWritten;
+    private final Counter touchesSkipped;
+
+    public DirtyCheckingSessionRepository(RedisIndexedSessionRepository delegate,
+                                          CompactSessionRedisSerializer serializer,
+                                          Duration touchInterval,
+                                          MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.serializer = serializer;
+        this.touchInterval = touchInterval;
+        this.writeBytes = DistributionSummary.builder("session.write.bytes").baseUnit("bytes").description("Serialized attribute bytes written per session save").register(meterRegistry);
+        this.attributesWritten = Counter.builder("session.attribute.writes").tag(RESULT_TAG, "written").register(meterRegistry);
+        this.attributesSkipped = Counter.builder("session.attribute.writes").tag(RESULT_TAG, "skipped").register(meterRegistry);
+        this.touchesWritten = Counter.builder("session.touches").tag(RESULT_TAG, "written").register(meterRegistry);
+        this.touchesSkipped = Counter.builder("session.touches").tag(RESULT_TAG, "skipped").register(meterRegistry);
+    }
+
+    @Override
+    public DirtyCheckingSession createSession() {
+        return new DirtyCheckingSession(delegate.createSession(), new IdentityHashMap<>(), true);
+    }
+
+    @Override
+    public void save(DirtyCheckingSession session) {
+        delegate.save(session.delegate);
+        writeBytes.record(session.writtenBytes);
+        session.writtenBytes = 0;
+    }
+
+    @Override
+    public @Nullable DirtyCheckingSession findById(String id) {
+        Map<Object, byte[]> storedBytes = new IdentityHashMap<>();
+        RedisIndexedSessionRepository.RedisSession session = serializer.captureReads(storedBytes, () -> delegate.findById(id));
+        return session != null ? new DirtyCheckingSession(session, storedBytes, false) : null;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, DirtyCheckingSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        Map<Object, byte[]> storedBytes = new IdentityHashMap<>();
+        Map<String, RedisIndexedSessionRepository.RedisSession> sessions = serializer.captureReads(storedBytes, () -> delegate.findByIndexNameAndIndexValue(indexName, indexValue));
+        Map<String, DirtyCheckingSession> result = LinkedHashMap.newLinkedHashMap(sessions.size());
+        sessions.forEach((id, session) -> result.put(id, new DirtyCheckingSession(session, storedBytes, false)));
+        return result;
+    }
+
+    public final class DirtyCheckingSession implements Session {
+
+        private final RedisIndexedSessionRepository.RedisSession delegate;
+        private final Map<Object, byte[]> storedBytes;
+        private final boolean isNew;
+        private long writtenBytes;
+
+        DirtyCheckingSession(RedisIndexedSessionRepository.RedisSession delegate, Map<Object, byte[]> storedBytes, boolean isNew) {
+            this.delegate = delegate;
+            this.storedBytes = storedBytes;
+            this.isNew = isNew;
+        }
+
+        /**
+         * The stored bytes are looked up by the identity of the current value, so a value changed in place is
+         * still compared with what was loaded from Redis.
+         */
+        @Override
+        public void setAttribute(String attributeName, @Nullable Object attributeValue) {
+            if (attributeValue == null) {
+                delegate.removeAttribute(attributeName);
+                return;
+            }
+            byte[] bytes = serializer.serialize(attributeValue);
+            Object currentValue = delegate.getAttribute(attributeName);
+            byte[] currentBytes = currentValue != null ? storedBytes.get(currentValue) : null;
+            if (currentBytes != null && Arrays.equals(currentBytes, bytes)) {
+                attributesSkipped.increment();
+                return;
+            }
+            delegate.setAttribute(attributeName, attributeValue);
+            storedBytes.put(attributeValue, bytes);
+            writtenBytes += bytes.length;
+            attributesWritten.increment();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            if (!isNew && Duration.between(delegate.getLastAccessedTime(), lastAccessedTime).compareTo(touchInterval) < 0) {
+                touchesSkipped.increment();
+                return;
+            }
+            delegate.setLastAccessedTime(lastAccessedTime);
+            touchesWritten.increment();
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> @Nullable T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            delegate.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
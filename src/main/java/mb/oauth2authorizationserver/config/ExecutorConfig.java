@@ -0,0 +1,119 @@
+package mb.oauth2authorizationserver.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.model.enums.RejectionPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * One bounded executor per workload class, so a burst in one of them queues or is rejected in its own pool instead of
+ * taking threads from the others.
+ * <p>
+ * Sizes, queue limits and rejection policies come from {@link ExecutorProperties}. Boot binds the {@code executor.*}
+ * metrics of every executor bean, tagged with the bean name without the {@code Executor} suffix; rejected tasks are
+ * counted under {@code executor.rejected} with the same tag. With {@code spring.threads.virtual.enabled} the pools run
+ * on virtual threads, but pool size and queue capacity still bound the concurrency of each workload.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class ExecutorConfig {
+
+    public static final String AUTH_EXECUTOR = "authExecutor";
+    public static final String IO_EXECUTOR = "ioExecutor";
+    public static final String MIGRATION_EXECUTOR = "migrationExecutor";
+    public static final String MIGRATION_WORKER_EXECUTOR = "migrationWorkerExecutor";
+    public static final String AI_EXECUTOR = "aiExecutor";
+
+    private final ExecutorProperties executorProperties;
+    private final TaskDecorator taskDecorator;
+    private final MeterRegistry meterRegistry;
+    private final boolean virtualThreads;
+
+    public ExecutorConfig(ExecutorProperties executorProperties,
+                          TaskDecorator taskDecorator,
+                          MeterRegistry meterRegistry,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executorProperties = executorProperties;
+        this.taskDecorator = taskDecorator;
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Bean(AUTH_EXECUTOR)
+    public ThreadPoolTaskExecutor authExecutor() {
+        return executor("auth", executorProperties.getAuth());
+    }
+
+    @Bean(IO_EXECUTOR)
+    public ThreadPoolTaskExecutor ioExecutor() {
+        return executor("io", executorProperties.getIo());
+    }
+
+    @Bean(MIGRATION_EXECUTOR)
+    public ThreadPoolTaskExecutor migrationExecutor() {
+        return executor("migration", executorProperties.getMigration());
+    }
+
+    @Bean(MIGRATION_WORKER_EXECUTOR)
+    public ThreadPoolTaskExecutor migrationWorkerExecutor() {
+        return executor("migration-worker", executorProperties.getMigrationWorker());
+    }
+
+    @Bean(AI_EXECUTOR)
+    public ThreadPoolTaskExecutor aiExecutor() {
+        return executor("ai", executorProperties.getAi());
+    }
+
+    private ThreadPoolTaskExecutor executor(String name, ExecutorProperties.Pool pool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(name + "-", 0).factory());
+        }
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+        executor.setTaskDecorator(taskDecorator);
+        executor.setRejectedExecutionHandler(new CountingRejectedExecutionHandler(name, pool.getRejectionPolicy(), meterRegistry));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    private static final class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final String name;
+        private final RejectedExecutionHandler delegate;
+        private final Counter rejected;
+
+        CountingRejectedExecutionHandler(String name, RejectionPolicy rejectionPolicy, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.delegate = switch (rejectionPolicy) {
+                case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            };
+            this.rejected = Counter.builder("executor.rejected")
+                    .tag("name", name)
+                    .tag("policy", rejectionPolicy.name().toLowerCase())
+                    .description("Tasks that did not fit into the executor's pool and queue")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) throws RejectedExecutionException {
+            rejected.increment();
+            log.warn("Executor saturated. name: {}, active: {}, queued: {}", name, executor.getActiveCount(), executor.getQueue().size());
+            delegate.rejectedExecution(task, executor);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package mb.oauth2authorizationserver.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import mb.oauth2authorizationserver.model.enums.RejectionPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "executors")
+public class ExecutorProperties {
+
+    /**
+     * Password hashing and LDAP binds.
+     */
+    private Pool auth = new Pool(8, 8, 100, Duration.ofSeconds(60), RejectionPolicy.ABORT);
+
+    /**
+     * Object storage and Excel work, and other blocking I/O that is not on the request path.
+     */
+    private Pool io = new Pool(4, 16, 200, Duration.ofSeconds(60), RejectionPolicy.CALLER_RUNS);
+
+    /**
+     * Database migrations. A second migration is queued behind the running one.
+     */
+    private Pool migration = new Pool(1, 1, 1, Duration.ofSeconds(60), RejectionPolicy.ABORT);
+
+    /**
+     * Table and chunk copies of the running migration. Chunks that do not fit run on the migration thread itself.
+     */
+    private Pool migrationWorker = new Pool(10, 10, 10_000, Duration.ofSeconds(60), RejectionPolicy.CALLER_RUNS);
+
+    /**
+     * Vector store ingestion and other AI calls.
+     */
+    private Pool ai = new Pool(2, 2, 10, Duration.ofSeconds(60), RejectionPolicy.ABORT);
+
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+
+        private int coreSize;
+
+        private int maxSize;
+
+        /**
+         * Tasks waiting for a thread. Once full the pool grows to {@code maxSize}, after that the rejection policy applies.
+         */
+        private int queueCapacity;
+
+        private Duration keepAlive;
+
+        private RejectionPolicy rejectionPolicy;
+    }
+}
@@ -1,17 +1,21 @@
 package mb.oauth2authorizationserver.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
 import org.jspecify.annotations.NonNull;
 import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
-import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.session.FlushMode;
+import org.springframework.session.data.redis.RedisIndexedSessionRepository;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisIndexedHttpSession;
 import org.springframework.session.web.context.AbstractHttpSessionApplicationInitializer;
 
@@ -19,7 +23,7 @@ import java.time.Duration;
 
 @EnableCaching
 @Configuration
-@EnableRedisIndexedHttpSession(maxInactiveIntervalInSeconds = 3600, redisNamespace = "sso:session", flushMode = FlushMode.ON_SAVE)
+@EnableRedisIndexedHttpSession(maxInactiveIntervalInSeconds = 3600, redisNamespace = ServiceConstants.SESSION_NAMESPACE, flushMode = FlushMode.ON_SAVE)
 public class SessionConfig extends AbstractHttpSessionApplicationInitializer implements BeanClassLoaderAware {
 
     private ClassLoader classLoader;
@@ -30,20 +34,33 @@ public class SessionConfig extends AbstractHttpSessionApplicationInitializer imp
     }
 
     /**
-     * Spring Session serializer - uses Java serialization.
+     * Spring Session serializer.
      * <p>
-     * WHY NOT JACKSON: Jackson 3.x removed activateDefaultTyping() from ObjectMapper
-     * entirely (builder-only). SecurityJacksonModules resets the PolymorphicTypeValidator
-     * to BasicPolymorphicTypeValidator during setupModule(), and there is no post-build
-     * API in Jackson 3.x to override it. Java serialization is the correct tool here:
-     * all Spring Security types (Authentication, SecurityContext, OAuth2Authorization, etc.)
-     * implement Serializable by design, and this was Spring Session's default before
-     * JSON serialization became fashionable.
+     * With {@code session.serializer=json} security contexts are written as JSON through the Spring Security
+     * Jackson modules, which keeps class descriptors out of every session. Every other attribute, and every
+     * attribute with {@code session.serializer=jdk}, still uses Java serialization. Both settings read both formats,
+     * so nodes can be switched one at a time. See {@link CompactSessionRedisSerializer}.
      */
     @Bean
-    public RedisSerializer<@NonNull Object> springSessionDefaultRedisSerializer() {
+    public CompactSessionRedisSerializer springSessionDefaultRedisSerializer(@Value("${session.serializer:jdk}") String format) {
         // Uses the app classloader so Spring Security / OAuth2 types deserialize correctly
-        return RedisSerializer.java(this.classLoader);
+        return new CompactSessionRedisSerializer(this.classLoader, "json".equalsIgnoreCase(format));
+    }
+
+    /**
+     * Session repository used by the session filter and the session registry.
+     * <p>
+     * Wraps the indexed Redis repository so attributes that are set back unchanged are not written again and the
+     * last access time is only refreshed once per {@code session.touch-interval}. Most requests then save no
+     * session data at all. See {@link DirtyCheckingSessionRepository}.
+     */
+    @Bean
+    @Primary
+    public DirtyCheckingSessionRepository dirtyCheckingSessionRepository(RedisIndexedSessionRepository redisIndexedSessionRepository,
+                                                                         CompactSessionRedisSerializer springSessionDefaultRedisSerializer,
+                                                                         @Value("${session.touch-interval:PT60S}") Duration touchInterval,
+                                                                         MeterRegistry meterRegistry) {
+        return new DirtyCheckingSessionRepository(redisIndexedSessionRepository, springSessionDefaultRedisSerializer, touchInterval, meterRegistry);
     }
 
     /**
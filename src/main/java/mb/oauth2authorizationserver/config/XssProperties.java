@@ -0,0 +1,40 @@
+package mb.oauth2authorizationserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "xss")
+public class XssProperties {
+
+    /**
+     * Largest request body that is buffered and sanitized. Bigger bodies are rejected with 413.
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(10);
+
+    /**
+     * Content types whose body is sanitized, as are bodies without a content type. Every other body (multipart,
+     * binary, form) is passed through untouched, form fields are still sanitized when read as parameters.
+     */
+    private List<MediaType> bodyContentTypes = List.of(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), new MediaType("text", "*"));
+
+    public boolean isSanitizedContentType(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return bodyContentTypes.stream().anyMatch(allowed -> allowed.includes(mediaType));
+        } catch (IllegalArgumentException _) {
+            return false;
+        }
+    }
+}
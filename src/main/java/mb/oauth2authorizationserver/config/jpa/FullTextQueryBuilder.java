@@ -0,0 +1,68 @@
+package mb.oauth2authorizationserver.config.jpa;
+
+import org.apache.commons.lang3.StringUtils;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Turns free-text admin search input into a word-prefix query for {@link FullTextSearchFunctionContributor}.
+ * <p>
+ * Every word of the input must match the start of a word in the column: {@code "jo sm"} becomes
+ * {@code +jo* +sm*} on MariaDB and {@code jo% AND sm%} on Oracle Text. Punctuation is dropped, so user input cannot
+ * inject full-text operators.
+ * <p>
+ * Full-text indexes skip words shorter than {@value #MIN_TOKEN_SIZE} characters ({@code innodb_ft_min_token_size}),
+ * so input containing such a word is not {@link #isIndexable indexable} and callers fall back to a substring search.
+ */
+@Component
+public class FullTextQueryBuilder {
+
+    public static final int MIN_TOKEN_SIZE = 3;
+
+    // InnoDB keeps underscores inside words, while the Oracle Text lexer splits on them (and reads "_" as a wildcard).
+    private static final Pattern MARIADB_WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}_]+");
+    private static final Pattern ORACLE_WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final boolean oracle;
+    private final Pattern wordSeparator;
+
+    public FullTextQueryBuilder(@Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.oracle = datasourceUrl.contains(":oracle:");
+        this.wordSeparator = oracle ? ORACLE_WORD_SEPARATOR : MARIADB_WORD_SEPARATOR;
+    }
+
+    /**
+     * Returns {@code true} when the input is blank or every word in it is long enough to be found in the index.
+     */
+    public boolean isIndexable(@Nullable String input) {
+        return words(input).stream().allMatch(word -> word.length() >= MIN_TOKEN_SIZE);
+    }
+
+    /**
+     * Returns the prefix query for the input, or {@code null} when it has no words and should not filter.
+     */
+    public @Nullable String prefixQuery(@Nullable String input) {
+        List<String> words = words(input);
+        if (words.isEmpty()) {
+            return null;
+        }
+        return oracle
+                ? words.stream().map(word -> word + "%").collect(Collectors.joining(" AND "))
+                : words.stream().map(word -> "+" + word + "*").collect(Collectors.joining(" "));
+    }
+
+    private List<String> words(@Nullable String input) {
+        if (StringUtils.isBlank(input)) {
+            return List.of();
+        }
+        return Arrays.stream(wordSeparator.split(input.strip()))
+                .filter(StringUtils::isNotEmpty)
+                .toList();
+    }
+}
@@ -0,0 +1,32 @@
+package mb.oauth2authorizationserver.config.jpa;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.OracleDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the {@value #FULL_TEXT_MATCH} HQL function, {@code full_text_match(column, query)}, which is greater
+ * than zero when the column matches the full-text query.
+ * <ul>
+ *   <li>MariaDB: {@code MATCH(column) AGAINST(query IN BOOLEAN MODE)}, backed by a {@code FULLTEXT} index.</li>
+ *   <li>Oracle: {@code CONTAINS(column, query)}, backed by an Oracle Text {@code CONTEXT} index.</li>
+ * </ul>
+ * The query syntax differs per database, so queries are built with {@link FullTextQueryBuilder}.
+ * Registered through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class FullTextSearchFunctionContributor implements FunctionContributor {
+
+    public static final String FULL_TEXT_MATCH = "full_text_match";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof OracleDialect
+                ? "contains(?1, ?2)"
+                : "match(?1) against(?2 in boolean mode)";
+        functionContributions.getFunctionRegistry().registerPattern(
+                FULL_TEXT_MATCH,
+                pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
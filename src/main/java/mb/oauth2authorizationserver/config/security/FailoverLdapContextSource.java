@@ -0,0 +1,180 @@
+package mb.oauth2authorizationserver.config.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.CustomLdapProperties;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.ldap.CommunicationException;
+import org.springframework.ldap.ServiceUnavailableException;
+import org.springframework.ldap.core.support.BaseLdapPathContextSource;
+import org.springframework.ldap.core.support.LdapContextSource;
+import org.springframework.ldap.pool2.factory.PoolConfig;
+import org.springframework.ldap.pool2.factory.PooledContextSource;
+import org.springframework.ldap.pool2.validation.DefaultDirContextValidator;
+
+import javax.naming.directory.DirContext;
+import javax.naming.ldap.LdapName;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Context source over every configured LDAP URL, with pooled service-account connections per URL.
+ * <p>
+ * Searches borrow a connection from the URL's pool; user binds open a fresh connection, because a bound connection
+ * carries the user's identity and must not be reused. Each call goes to the first URL that is not marked down, in
+ * configuration order. A URL that fails with a communication error is marked down for the retry interval and the
+ * call moves on to the next one. When all URLs are down they are still tried, starting with the one whose retry
+ * interval ends first.
+ * <p>
+ * Metrics: {@code ldap.connections} (latency of getting a connection, by url, type and result) and
+ * {@code ldap.pool.connections} (active and idle pooled connections per url).
+ */
+@Slf4j
+public class FailoverLdapContextSource implements BaseLdapPathContextSource, DisposableBean {
+
+    private static final String URL_TAG = "url";
+    private static final String TYPE_POOLED = "pooled";
+    private static final String TYPE_BIND = "bind";
+
+    private final List<Node> nodes;
+    private final Duration retryInterval;
+    private final LdapContextSource primary;
+
+    public FailoverLdapContextSource(CustomLdapProperties customLdapProperties,
+                                     int maxActive,
+                                     Duration maxWait,
+                                     Duration retryInterval,
+                                     MeterRegistry meterRegistry) {
+        this.retryInterval = retryInterval;
+        this.nodes = Arrays.stream(customLdapProperties.getUrls())
+                .map(url -> new Node(url, customLdapProperties, maxActive, maxWait, meterRegistry))
+                .toList();
+        this.primary = nodes.getFirst().contextSource;
+    }
+
+    @Override
+    public DirContext getReadOnlyContext() {
+        return route(TYPE_POOLED, node -> node.pool.getReadOnlyContext());
+    }
+
+    @Override
+    public DirContext getReadWriteContext() {
+        return route(TYPE_POOLED, node -> node.pool.getReadWriteContext());
+    }
+
+    @Override
+    public DirContext getContext(String principal, String credentials) {
+        return route(TYPE_BIND, node -> node.contextSource.getContext(principal, credentials));
+    }
+
+    @Override
+    public LdapName getBaseLdapName() {
+        return primary.getBaseLdapName();
+    }
+
+    @Override
+    public String getBaseLdapPathAsString() {
+        return primary.getBaseLdapPathAsString();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Node node : nodes) {
+            node.pool.destroy();
+        }
+    }
+
+    private DirContext route(String type, Function<Node, DirContext> connect) {
+        long now = System.nanoTime();
+        List<Node> ordered = nodes.stream()
+                .sorted(Comparator.comparingLong((Node node) -> Math.max(node.downUntil, now)))
+                .toList();
+
+        RuntimeException lastFailure = null;
+        for (Node node : ordered) {
+            Timer.Sample sample = Timer.start();
+            try {
+                DirContext context = connect.apply(node);
+                node.markUp();
+                sample.stop(node.timer(type, "success"));
+                return context;
+            } catch (RuntimeException e) {
+                if (!isUnavailable(e)) {
+                    sample.stop(node.timer(type, "failure"));
+                    throw e;
+                }
+                sample.stop(node.timer(type, "unavailable"));
+                node.markDown(retryInterval);
+                log.warn("LDAP server unavailable, trying the next one. url: {}, route - Exception: {}", node.url, e.getMessage());
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+
+    /**
+     * The pool wraps connection failures of its factory in a {@link org.springframework.dao.DataAccessResourceFailureException},
+     * so the cause chain is searched. Other pool failures, like a borrow timeout, do not mean the server is down.
+     */
+    static boolean isUnavailable(Throwable failure) {
+        return ExceptionUtils.getThrowableList(failure).stream()
+                .anyMatch(cause -> cause instanceof CommunicationException
+                        || cause instanceof ServiceUnavailableException
+                        || cause instanceof javax.naming.CommunicationException
+                        || cause instanceof javax.naming.ServiceUnavailableException);
+    }
+
+    private static final class Node {
+
+        private final String url;
+        private final LdapContextSource contextSource;
+        private final PooledContextSource pool;
+        private final MeterRegistry meterRegistry;
+        private volatile long downUntil = Long.MIN_VALUE;
+
+        Node(String url, CustomLdapProperties customLdapProperties, int maxActive, Duration maxWait, MeterRegistry meterRegistry) {
+            this.url = url;
+            this.meterRegistry = meterRegistry;
+
+            this.contextSource = new LdapContextSource();
+            contextSource.setUrl(url);
+            contextSource.setUserDn(customLdapProperties.getUserDn());
+            contextSource.setPassword(customLdapProperties.getPassword());
+            contextSource.afterPropertiesSet();
+
+            PoolConfig poolConfig = new PoolConfig();
+            poolConfig.setMaxTotalPerKey(maxActive);
+            poolConfig.setMaxIdlePerKey(maxActive);
+            poolConfig.setMaxWaitMillis(maxWait.toMillis());
+            poolConfig.setTestOnBorrow(true);
+            this.pool = new PooledContextSource(poolConfig);
+            pool.setContextSource(contextSource);
+            pool.setDirContextValidator(new DefaultDirContextValidator());
+
+            Gauge.builder("ldap.pool.connections", pool, PooledContextSource::getNumActive).tag(URL_TAG, url).tag("state", "active").register(meterRegistry);
+            Gauge.builder("ldap.pool.connections", pool, PooledContextSource::getNumIdle).tag(URL_TAG, url).tag("state", "idle").register(meterRegistry);
+        }
+
+        void markDown(Duration retryInterval) {
+            downUntil = System.nanoTime() + retryInterval.toNanos();
+        }
+
+        void markUp() {
+            downUntil = Long.MIN_VALUE;
+        }
+
+        Timer timer(String type, String result) {
+            return Timer.builder("ldap.connections")
+                    .tag(URL_TAG, url)
+                    .tag("type", type)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package mb.oauth2authorizationserver.config.security;
+
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares {@link VerifiedJwtCache} revocations between nodes over a Redis topic, so a token revoked on one node is
+ * rejected by every node instead of staying cached elsewhere until its {@code exp}.
+ * <p>
+ * Only token digests and their {@code exp} are published. A node also receives its own messages, which is harmless because applying a
+ * revocation twice has no further effect. Revocations published while a node is disconnected from Redis are not
+ * replayed; that node keeps serving its cached tokens until they expire.
+ */
+@Slf4j
+@Component
+public class JwtRevocationBroadcaster {
+
+    private final RTopic topic;
+
+    public JwtRevocationBroadcaster(RedissonClient redissonClient, VerifiedJwtCache verifiedJwtCache) {
+        this.topic = redissonClient.getTopic(ServiceConstants.JWT_REVOCATION_TOPIC, StringCodec.INSTANCE);
+        this.topic.addListener(String.class, (_, revocation) -> verifiedJwtCache.applyRevocation(revocation));
+        verifiedJwtCache.setRevocationListener(this::publish);
+    }
+
+    private void publish(String revocation) {
+        topic.publishAsync(revocation).whenComplete((_, e) -> {
+            if (e != null) {
+                log.warn("Could not broadcast token revocation; it applies to this node only. publish - Exception: {}", ExceptionUtils.getStackTrace(e));
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package mb.oauth2authorizationserver.config.security;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jspecify.annotations.Nullable;
+
+import java.net.Authenticator;
+import java.net.PasswordAuthentication;
+import java.util.concurrent.Callable;
+
+/**
+ * Credentials of the user being authenticated, for outbound calls that have to authenticate as that user.
+ * <p>
+ * The credentials are bound with {@link #callWith} for the duration of one call on the current thread and are not
+ * visible to other threads or other requests. Clients that need them read {@link #current()} on the calling thread,
+ * for example to set a basic authorization header, or pass {@link #authenticator()} to
+ * {@link java.net.HttpURLConnection#setAuthenticator}, which asks for credentials on the calling thread. Nothing is
+ * set on the JVM-wide {@link Authenticator#setDefault default authenticator}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OutboundCredentials {
+
+    private static final ScopedValue<PasswordAuthentication> CURRENT = ScopedValue.newInstance();
+    private static final Authenticator AUTHENTICATOR = new Authenticator() {
+        @Override
+        protected @Nullable PasswordAuthentication getPasswordAuthentication() {
+            return current();
+        }
+    };
+
+    public static <T> T callWith(String username, String password, Callable<T> call) throws Exception {
+        return ScopedValue.where(CURRENT, new PasswordAuthentication(username, password.toCharArray())).call(call::call);
+    }
+
+    public static @Nullable PasswordAuthentication current() {
+        return CURRENT.isBound() ? CURRENT.get() : null;
+    }
+
+    public static Authenticator authenticator() {
+        return AUTHENTICATOR;
+    }
+}
@@ -0,0 +1,75 @@
+package mb.oauth2authorizationserver.config.security;
+
+import org.apache.commons.collections4.ListUtils;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes Spring Sessions in batches, reporting progress after each batch.
+ * <p>
+ * Every session is deleted through {@link FindByIndexNameSessionRepository#deleteById(String)}, so the repository
+ * cleans up its expiry and principal index keys in whatever format they were written, and publishes the
+ * {@code SessionDeletedEvent} that {@link RedisSessionRegistry} and the HTTP session listeners rely on. The session is
+ * also removed from the {@link SessionRegistry} right away, without waiting for the event.
+ */
+@Component
+public class RedisSessionEvictor {
+
+    static final int BATCH_SIZE = 500;
+
+    private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+    private final SessionRegistry sessionRegistry;
+
+    public RedisSessionEvictor(FindByIndexNameSessionRepository<? extends Session> sessionRepository, SessionRegistry sessionRegistry) {
+        this.sessionRepository = sessionRepository;
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    /**
+     * @return the number of sessions that still existed and were deleted
+     */
+    public long evict(Object principal, Collection<String> sessionIds) {
+        return evict(Map.of(principal, sessionIds), _ -> {
+        });
+    }
+
+    /**
+     * Evicts the given sessions, calling {@code progress} with the number of processed sessions after each batch.
+     *
+     * @return the number of sessions that still existed and were deleted
+     */
+    public long evict(Map<Object, ? extends Collection<String>> sessionIdsByPrincipal, LongConsumer progress) {
+        List<String> sessionIds = new ArrayList<>();
+        sessionIdsByPrincipal.values().forEach(sessionIds::addAll);
+
+        long processed = 0;
+        long deleted = 0;
+        for (List<String> batch : ListUtils.partition(sessionIds, BATCH_SIZE)) {
+            deleted += evictBatch(batch);
+            processed += batch.size();
+            progress.accept(processed);
+        }
+        return deleted;
+    }
+
+    private long evictBatch(List<String> sessionIds) {
+        long deleted = 0;
+        for (String sessionId : sessionIds) {
+            if (Objects.nonNull(sessionRepository.findById(sessionId))) {
+                sessionRepository.deleteById(sessionId);
+                deleted++;
+            }
+            sessionRegistry.removeSessionInformation(sessionId);
+        }
+        return deleted;
+    }
+}
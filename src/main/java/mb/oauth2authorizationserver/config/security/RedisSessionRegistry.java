@@ -0,0 +1,234 @@
+package mb.oauth2authorizationserver.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.session.AbstractSessionEvent;
+import org.springframework.security.core.session.SessionDestroyedEvent;
+import org.springframework.security.core.session.SessionIdChangedEvent;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.stereotype.Component;
+
+import java.io.Serial;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link SessionRegistry} that reads the Spring Session principal index in Redis, so every node sees the sessions
+ * of every other node.
+ * <p>
+ * Sessions of a principal are found through {@link FindByIndexNameSessionRepository#findByPrincipalName(String)},
+ * and the names of principals with sessions are kept in the {@code sso:session:principal-registrations} sorted set,
+ * scored by their last registration time, so neither listing nor the {@code maximumSessions} check scans the keyspace.
+ * Lookups are cached per node for {@code session.registry.cache-ttl}; local changes invalidate the cache right away.
+ * <p>
+ * Principals without sessions are only removed by {@link #pruneEmptyPrincipals()}, never while reading.
+ */
+@Component
+public class RedisSessionRegistry implements SessionRegistry, ApplicationListener<AbstractSessionEvent> {
+
+    static final String EXPIRED_ATTRIBUTE = RedisSessionRegistry.class.getName() + ".EXPIRED";
+
+    private final FindByIndexNameSessionRepository<? extends Session> sessionRepository;
+    private final RScoredSortedSet<String> principalNames;
+    private final long pruneGraceMillis;
+    private final Cache<String, List<SessionInformation>> sessionsByPrincipal;
+    private final Cache<String, Optional<SessionInformation>> sessionsById;
+
+    public RedisSessionRegistry(FindByIndexNameSessionRepository<? extends Session> sessionRepository,
+                                RedissonClient redissonClient,
+                                @Value("${session.registry.cache-ttl:PT5S}") Duration cacheTtl,
+                                @Value("${session.registry.cache-maximum-size:10000}") long cacheMaximumSize,
+                                @Value("${session.registry.prune-grace:PT5M}") Duration pruneGrace) {
+        this.sessionRepository = sessionRepository;
+        this.principalNames = redissonClient.getScoredSortedSet(ServiceConstants.SESSION_PRINCIPALS_KEY, StringCodec.INSTANCE);
+        this.pruneGraceMillis = pruneGrace.toMillis();
+        this.sessionsByPrincipal = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+        this.sessionsById = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /**
+     * Principals without sessions are skipped, they are left for {@link #pruneEmptyPrincipals()}.
+     */
+    @Override
+    public List<Object> getAllPrincipals() {
+        List<Object> principals = new ArrayList<>();
+        for (String principalName : principalNames.readAll()) {
+            List<SessionInformation> sessions = findSessions(principalName);
+            if (!sessions.isEmpty()) {
+                principals.add(sessions.getFirst().getPrincipal());
+            }
+        }
+        return principals;
+    }
+
+    /**
+     * Drops principals that have no session left in the principal index.
+     * <p>
+     * A principal is registered before Spring Session saves its session and indexes it, and the cached lookups may
+     * be stale. So only principals registered longer than {@code session.registry.prune-grace} ago are considered,
+     * and each one is removed only after an uncached read of the principal index finds no session.
+     */
+    @Scheduled(fixedDelayString = "${session.registry.prune-interval:PT5M}", initialDelayString = "${session.registry.prune-interval:PT5M}")
+    public void pruneEmptyPrincipals() {
+        long registeredBefore = System.currentTimeMillis() - pruneGraceMillis;
+        for (String principalName : principalNames.valueRange(Double.NEGATIVE_INFINITY, true, registeredBefore, true)) {
+            if (sessionRepository.findByPrincipalName(principalName).isEmpty()) {
+                principalNames.remove(principalName);
+                sessionsByPrincipal.invalidate(principalName);
+            }
+        }
+    }
+
+    @Override
+    public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+        List<SessionInformation> sessions = findSessions(principalName(principal));
+        if (includeExpiredSessions) {
+            return sessions;
+        }
+        return sessions.stream().filter(session -> !session.isExpired()).toList();
+    }
+
+    @Override
+    public SessionInformation getSessionInformation(String sessionId) {
+        return sessionsById.get(sessionId, id -> Optional.ofNullable(sessionRepository.findById(id)).map(this::toSessionInformation))
+                .orElse(null);
+    }
+
+    /**
+     * Spring Session tracks the last access time itself, there is nothing to refresh.
+     */
+    @Override
+    public void refreshLastRequest(String sessionId) {
+        // no-op
+    }
+
+    /**
+     * The session is added to the principal index by Spring Session when it is saved, only the principal name and
+     * the registration time have to be recorded here.
+     */
+    @Override
+    public void registerNewSession(String sessionId, Object principal) {
+        String principalName = principalName(principal);
+        principalNames.add(System.currentTimeMillis(), principalName);
+        sessionsByPrincipal.invalidate(principalName);
+        sessionsById.invalidate(sessionId);
+    }
+
+    @Override
+    public void removeSessionInformation(String sessionId) {
+        sessionsById.invalidate(sessionId);
+        sessionsByPrincipal.invalidateAll();
+    }
+
+    @Override
+    public void onApplicationEvent(AbstractSessionEvent event) {
+        if (event instanceof SessionDestroyedEvent sessionDestroyedEvent) {
+            removeSessionInformation(sessionDestroyedEvent.getId());
+        } else if (event instanceof SessionIdChangedEvent sessionIdChangedEvent) {
+            removeSessionInformation(sessionIdChangedEvent.getOldSessionId());
+        }
+    }
+
+    private List<SessionInformation> findSessions(String principalName) {
+        return sessionsByPrincipal.get(principalName, name -> sessionRepository.findByPrincipalName(name)
+                .values()
+                .stream()
+                .map(this::toSessionInformation)
+                .toList());
+    }
+
+    private SessionInformation toSessionInformation(Session session) {
+        RedisSessionInformation sessionInformation = new RedisSessionInformation(this, resolvePrincipal(session), session.getId(), Date.from(session.getLastAccessedTime()));
+        if (Boolean.TRUE.equals(session.getAttribute(EXPIRED_ATTRIBUTE))) {
+            sessionInformation.markExpired();
+        }
+        return sessionInformation;
+    }
+
+    private void expire(String sessionId) {
+        saveExpiredMarker(sessionRepository, sessionId);
+        removeSessionInformation(sessionId);
+    }
+
+    private static <S extends Session> void saveExpiredMarker(FindByIndexNameSessionRepository<S> repository, String sessionId) {
+        S session = repository.findById(sessionId);
+        if (session != null) {
+            session.setAttribute(EXPIRED_ATTRIBUTE, Boolean.TRUE);
+            repository.save(session);
+        }
+    }
+
+    private static Object resolvePrincipal(Session session) {
+        if (session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY) instanceof SecurityContext securityContext) {
+            Authentication authentication = securityContext.getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                return authentication.getPrincipal();
+            }
+        }
+        return Objects.toString(session.getAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME), "");
+    }
+
+    /**
+     * Same name Spring Session writes to the principal index, see {@link Authentication#getName()}.
+     */
+    static String principalName(Object principal) {
+        return switch (principal) {
+            case UserDetails userDetails -> userDetails.getUsername();
+            case AuthenticatedPrincipal authenticatedPrincipal -> authenticatedPrincipal.getName();
+            case Principal namedPrincipal -> namedPrincipal.getName();
+            default -> principal.toString();
+        };
+    }
+
+    /**
+     * Expiring a session marks it in Redis, so the concurrency filter on every node logs it out.
+     */
+    private static final class RedisSessionInformation extends SessionInformation {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient RedisSessionRegistry registry;
+
+        private RedisSessionInformation(RedisSessionRegistry registry, Object principal, String sessionId, Date lastRequest) {
+            super(principal, sessionId, lastRequest);
+            this.registry = registry;
+        }
+
+        @Override
+        public void expireNow() {
+            markExpired();
+            registry.expire(getSessionId());
+        }
+
+        private void markExpired() {
+            super.expireNow();
+        }
+    }
+}
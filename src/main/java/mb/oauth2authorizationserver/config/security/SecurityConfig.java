@@ -4,8 +4,11 @@ import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.api.filter.OneTimeTokenGenerationFailureFilter;
+import mb.oauth2authorizationserver.api.filter.TokenRateLimitFilter;
 import mb.oauth2authorizationserver.config.CustomLdapProperties;
 import mb.oauth2authorizationserver.config.LdapConfiguredCondition;
 import mb.oauth2authorizationserver.config.security.builder.AuthorizationBuilderService;
@@ -19,6 +22,7 @@ import mb.oauth2authorizationserver.config.security.provider.CustomPasswordAuthe
 import mb.oauth2authorizationserver.config.security.provider.CustomRefreshTokenAuthenticationProvider;
 import mb.oauth2authorizationserver.config.security.provider.JwtBearerGrantAuthenticationProvider;
 import mb.oauth2authorizationserver.config.security.service.CustomAuthenticationService;
+import mb.oauth2authorizationserver.config.security.service.JwkStoreService;
 import mb.oauth2authorizationserver.config.security.service.TokenService;
 import mb.oauth2authorizationserver.config.security.service.UserLoginAttemptService;
 import mb.oauth2authorizationserver.config.security.service.impl.CustomOneTimeTokenServiceImpl;
@@ -29,9 +33,9 @@ import mb.oauth2authorizationserver.constants.ServiceConstants;
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
 import mb.oauth2authorizationserver.data.repository.AuthorizationRepository;
 import mb.oauth2authorizationserver.data.repository.UserRepository;
-import mb.oauth2authorizationserver.utils.SecurityUtils;
 import org.jspecify.annotations.NonNull;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationListener;
@@ -42,8 +46,6 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.MediaType;
 import org.springframework.ldap.core.LdapTemplate;
-import org.springframework.ldap.core.support.BaseLdapPathContextSource;
-import org.springframework.ldap.core.support.LdapContextSource;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.ProviderManager;
@@ -66,7 +68,6 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.FactorGrantedAuthority;
 import org.springframework.security.core.session.SessionRegistry;
-import org.springframework.security.core.session.SessionRegistryImpl;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -75,9 +76,7 @@ import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.OAuth2Token;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
-import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
-import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
@@ -90,9 +89,11 @@ import org.springframework.security.oauth2.server.authorization.token.OAuth2Toke
 import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenGenerator;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.AuthenticationConverter;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.ott.GenerateOneTimeTokenFilter;
 import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
 import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.security.web.session.HttpSessionEventPublisher;
@@ -101,6 +102,7 @@ import org.springframework.session.security.web.authentication.SpringSessionReme
 import org.thymeleaf.extras.springsecurity6.dialect.SpringSecurityDialect;
 import tools.jackson.databind.ObjectMapper;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -122,6 +124,7 @@ public class SecurityConfig {
             "/actuator/**", "/ott/sent", "/login/ott", "/ott/**", "/ott/submit", "/chat/**", "/vector-stores/**", "/mcp/message", "/files/**"
     };
     private static final String LOGIN_FORM_URL = "/login";
+    private static final String OTT_GENERATE_URL = "/ott/generate";
     private static final String JSESSIONID = "JSESSIONID";
     private static final String LOGOUT_URL = "/logout";
     private static final String AUTHORITIES = "authorities";
@@ -130,9 +133,26 @@ public class SecurityConfig {
     private final AuthorizationBuilderService authorizationBuilderService;
     private final UserRepository userRepository;
     private final CustomLdapProperties customLdapProperties;
+    private final JwkStoreService jwkStoreService;
+    private final VerifiedJwtCache verifiedJwtCache;
+    private final SessionRegistry sessionRegistry;
 
-    @Value("${jwt.key.path:./keys/jwt.key}")
-    private String jwtKeyPath;
+    /**
+     * Stateless chain for static resources and actuator endpoints. It runs before every other chain so these requests
+     * never touch the session, the request cache or the security context repository.
+     */
+    @Bean
+    @Order(0)
+    public SecurityFilterChain fastPathSecurityFilterChain(HttpSecurity http) {
+        return http
+                .securityMatcher(ServiceConstants.FAST_PATH_PATTERNS)
+                .authorizeHttpRequests(requests -> requests.anyRequest().permitAll())
+                .csrf(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .sessionManagement(management -> management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
 
     /**
      * Configures the OAuth2 Authorization Server security filter chain with browser-level XSS protection headers.
@@ -191,8 +211,10 @@ public class SecurityConfig {
                                                      TokenService tokenService,
                                                      UserLoginAttemptService userLoginAttemptService,
                                                      CustomAuthenticationService customAuthenticationService,
-                                                     RedissonClient redissonClient) {
-        OAuth2AuthorizationService oAuth2AuthorizationService = new OAuth2AuthorizationServiceImpl(authorizationRepository, authorizationBuilderService, redissonClient);
+                                                     RedissonClient redissonClient,
+                                                     TokenRateLimiter tokenRateLimiter,
+                                                     TokenIssuanceCoalescer tokenIssuanceCoalescer) {
+        OAuth2AuthorizationService oAuth2AuthorizationService = new OAuth2AuthorizationServiceImpl(authorizationRepository, authorizationBuilderService, redissonClient, verifiedJwtCache);
         OAuth2AuthorizationServerConfigurer authorizationServerConfigurer = new OAuth2AuthorizationServerConfigurer();
 
         httpSecurity
@@ -215,8 +237,9 @@ public class SecurityConfig {
                         .migrateSession()
                         .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
                         .maximumSessions(10)
-                        .sessionRegistry(sessionRegistry()))
+                        .sessionRegistry(sessionRegistry))
                 .rememberMe(me -> me.rememberMeServices(rememberMeServices()))
+                .addFilterBefore(new TokenRateLimitFilter(tokenRateLimiter, authorizationServerSettings().getTokenEndpoint()), AuthorizationFilter.class)
                 .oauth2ResourceServer(auth2ResourceServerConfigurer -> {
                     auth2ResourceServerConfigurer.authenticationEntryPoint(new AuthExceptionEntryPoint(objectMapper));
                     auth2ResourceServerConfigurer.accessDeniedHandler(accessDeniedHandler);
@@ -226,7 +249,7 @@ public class SecurityConfig {
                 .tokenEndpoint(tokenEndpoint -> tokenEndpoint
                         .accessTokenRequestConverter(new CustomPasswordAuthenticationConverter())
                         .accessTokenRequestConverter(new LegacyOAuth2TokenEndpointAuthenticationConverter())
-                        .authenticationProvider(new CustomPasswordAuthenticationProvider(oAuth2AuthorizationService, tokenGenerator(), userDetailsService(), tokenService, authorizationBuilderService, userLoginAttemptService, customAuthenticationService))
+                        .authenticationProvider(new CustomPasswordAuthenticationProvider(oAuth2AuthorizationService, tokenGenerator(), userDetailsService(), tokenService, authorizationBuilderService, userLoginAttemptService, customAuthenticationService, tokenIssuanceCoalescer))
                         .authenticationProvider(new CustomRefreshTokenAuthenticationProvider(oAuth2AuthorizationService, tokenGenerator()))
                         .accessTokenRequestConverter(new JwtBearerGrantAuthenticationConverter())
                         .authenticationProvider(new JwtBearerGrantAuthenticationProvider(oAuth2AuthorizationService, tokenGenerator()))
@@ -243,7 +266,8 @@ public class SecurityConfig {
                                                       OneTimeTokenSuccessHandlerImpl oneTimeTokenSuccessHandler,
                                                       ObjectMapper objectMapper,
                                                       @Qualifier("customAccessDeniedHandler") AccessDeniedHandler accessDeniedHandler,
-                                                      @Qualifier("customAuthenticationProvider") CustomAuthenticationProvider customAuthenticationProvider) {
+                                                      @Qualifier("customAuthenticationProvider") CustomAuthenticationProvider customAuthenticationProvider,
+                                                      @Value("${ott.ttl:PT5M}") Duration ottTimeToLive) {
         var mfa = AuthorizationManagerFactories.multiFactor().requireFactors(FactorGrantedAuthority.PASSWORD_AUTHORITY, FactorGrantedAuthority.OTT_AUTHORITY).build();
 
         return http
@@ -268,7 +292,9 @@ public class SecurityConfig {
                 // Not needed for OTT, but keeping session management consistent
                 .headers(httpSecurityHeaders -> httpSecurityHeaders.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
                 .logout(Customizer.withDefaults())
+                .addFilterBefore(new OneTimeTokenGenerationFailureFilter(OTT_GENERATE_URL, ottTimeToLive), GenerateOneTimeTokenFilter.class)
                 .oneTimeTokenLogin(oneTimeTokenLogin -> oneTimeTokenLogin
+                        .tokenGeneratingUrl(OTT_GENERATE_URL)
                         .tokenGenerationSuccessHandler(oneTimeTokenSuccessHandler)
                         .tokenService(customOneTimeTokenService)
                         .showDefaultSubmitPage(false)
@@ -299,7 +325,7 @@ public class SecurityConfig {
                         .migrateSession()
                         .sessionCreationPolicy(SessionCreationPolicy.ALWAYS)
                         .maximumSessions(10)
-                        .sessionRegistry(sessionRegistry()))
+                        .sessionRegistry(sessionRegistry))
                 .rememberMe(me -> me.rememberMeServices(rememberMeServices()))
                 .formLogin(login -> {
                             login.authenticationDetailsSource(new CustomAuthenticationDetailsSource());
@@ -381,21 +407,11 @@ public class SecurityConfig {
         return AuthorizationServerSettings.builder().build();
     }
 
-    @Bean
-    public OAuth2AuthorizationConsentService oAuth2AuthorizationConsentService() {
-        return new InMemoryOAuth2AuthorizationConsentService();
-    }
-
     @Bean
     public HttpSessionEventPublisher httpSessionEventPublisher() {
         return new HttpSessionEventPublisher();
     }
 
-    @Bean
-    public SessionRegistry sessionRegistry() {
-        return new SessionRegistryImpl();
-    }
-
     @Bean
     public SpringSessionRememberMeServices rememberMeServices() {
         SpringSessionRememberMeServices rememberMeServices = new SpringSessionRememberMeServices();
@@ -455,7 +471,7 @@ public class SecurityConfig {
 
     @Bean
     public JWKSource<SecurityContext> jwkSource() {
-        RSAKey rsaKey = SecurityUtils.loadOrGenerateRsa(jwtKeyPath);
+        RSAKey rsaKey = jwkStoreService.loadOrGenerate();
         JWKSet jwkSet = new JWKSet(rsaKey);
         return (jwkSelector, _) -> jwkSelector.select(jwkSet);
     }
@@ -472,23 +488,25 @@ public class SecurityConfig {
 
     @Bean
     @Conditional(LdapConfiguredCondition.class)
-    public LdapTemplate ldapTemplate() {
-        return new LdapTemplate(contextSource());
+    public LdapTemplate ldapTemplate(FailoverLdapContextSource contextSource) {
+        return new LdapTemplate(contextSource);
     }
 
+    /**
+     * Pooled connections to every URL in {@code spring.ldap.urls}, with failover to the next URL while one is down.
+     */
     @Bean
     @Conditional(LdapConfiguredCondition.class)
-    public LdapContextSource contextSource() {
-        LdapContextSource ldapContextSource = new LdapContextSource();
-        ldapContextSource.setUrl(customLdapProperties.getUrls()[0]);
-        ldapContextSource.setUserDn(customLdapProperties.getUserDn());
-        ldapContextSource.setPassword(customLdapProperties.getPassword());
-        return ldapContextSource;
+    public FailoverLdapContextSource contextSource(MeterRegistry meterRegistry,
+                                                   @Value("${ldap.pool.max-active:8}") int maxActive,
+                                                   @Value("${ldap.pool.max-wait:PT2S}") Duration maxWait,
+                                                   @Value("${ldap.failover.retry-interval:PT30S}") Duration retryInterval) {
+        return new FailoverLdapContextSource(customLdapProperties, maxActive, maxWait, retryInterval, meterRegistry);
     }
 
     @Bean
     @Conditional(LdapConfiguredCondition.class)
-    public AuthenticationManager ldapAuthenticationManager(BaseLdapPathContextSource source) {
+    public AuthenticationManager ldapAuthenticationManager(FailoverLdapContextSource source) {
         LdapBindAuthenticationManagerFactory factory = new LdapBindAuthenticationManagerFactory(source);
         factory.setUserSearchBase(customLdapProperties.getUserSearchBase());
         factory.setUserSearchFilter(customLdapProperties.getUserSearchFilter());
@@ -497,7 +515,7 @@ public class SecurityConfig {
 
     @Bean
     @Primary
-    public AuthenticationManager authenticationManager() throws Exception {
+    public AuthenticationManager authenticationManager(ObjectProvider<FailoverLdapContextSource> ldapContextSource) throws Exception {
         List<AuthenticationProvider> providers = new ArrayList<>();
 
         // Add DAO authentication provider
@@ -506,7 +524,7 @@ public class SecurityConfig {
         // Add LDAP provider if configured
         if (customLdapProperties.isValid()) {
             try {
-                LdapBindAuthenticationManagerFactory factory = new LdapBindAuthenticationManagerFactory(contextSource());
+                LdapBindAuthenticationManagerFactory factory = new LdapBindAuthenticationManagerFactory(ldapContextSource.getObject());
                 factory.setUserSearchBase(customLdapProperties.getUserSearchBase());
                 factory.setUserSearchFilter(customLdapProperties.getUserSearchFilter());
 
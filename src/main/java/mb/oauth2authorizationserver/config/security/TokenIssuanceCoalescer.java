@@ -0,0 +1,115 @@
+package mb.oauth2authorizationserver.config.security;
+
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import mb.oauth2authorizationserver.utils.SecurityUtils;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for token issuance: concurrent requests with the same key share one in-flight issuance.
+ * <p>
+ * The first request for a key runs the issuance, every request that arrives while it runs waits for it and gets
+ * the same result or the same exception. The node-local key may contain credentials, so callers build it with
+ * {@link SecurityUtils#hmac(String...)}. With {@code token-endpoint.single-flight.cluster-wide=true} the issuance
+ * additionally holds a Redis lock named after a separate lock key, so a node that loses the race finds the token
+ * saved by the winner. The lock key is visible in Redis and must not contain credentials; requests that share it but
+ * not the local key only wait for each other, each one still verifies its own credentials. Neither key is logged.
+ */
+@Slf4j
+@Component
+public class TokenIssuanceCoalescer {
+
+    private static final long LOCK_WAIT_SECONDS = 10;
+    private static final long LOCK_LEASE_SECONDS = 30;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final RedissonClient redissonClient;
+    private final boolean clusterWide;
+
+    public TokenIssuanceCoalescer(RedissonClient redissonClient, @Value("${token-endpoint.single-flight.cluster-wide:false}") boolean clusterWide) {
+        this.redissonClient = redissonClient;
+        this.clusterWide = clusterWide;
+    }
+
+    /**
+     * SHA-256 digest of the parts, the same on every node. Not keyed, so the parts must not contain credentials.
+     */
+    public static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String lockKey, Supplier<T> issuance) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            log.debug("Joined in-flight token issuance");
+            return (T) join(existing);
+        }
+
+        try {
+            T result = clusterWide ? executeLocked(lockKey, issuance) : issuance.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private <T> T executeLocked(String lockKey, Supplier<T> issuance) {
+        RLock lock = redissonClient.getLock(String.format(ServiceConstants.TOKEN_ISSUANCE_LOCK, lockKey));
+        try {
+            if (!lock.tryLock(LOCK_WAIT_SECONDS, LOCK_LEASE_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Could not acquire token issuance lock within timeout, issuing without it");
+            }
+            return issuance.get();
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            throw new OAuth2AuthenticationException(new OAuth2Error(OAuth2ErrorCodes.SERVER_ERROR, "Interrupted while waiting for token issuance.", SecurityUtils.ERROR_URI));
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package mb.oauth2authorizationserver.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jspecify.annotations.Nullable;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiter for the token endpoint, keyed by registered client id.
+ * <p>
+ * Limits come from the client's token settings ({@value #REQUESTS_PER_MINUTE_SETTING} and {@value #BURST_SETTING}),
+ * falling back to {@code token-endpoint.rate-limit.*}. Every node keeps a lock-free bucket per client: the bucket is
+ * a single theoretical arrival time that is advanced with compare-and-set (GCRA), which behaves like a token bucket
+ * without a refill task. With {@code token-endpoint.rate-limit.global-quota=true} requests that pass the local
+ * bucket also draw from a Redis rate limiter shared by all nodes; a request the shared limiter rejects gives its
+ * local slot back, and if Redis cannot be reached the local limit alone applies.
+ * <p>
+ * The bucket of a client is looked up without locking; the cache entry is only recomputed when it is missing or the
+ * client's limits changed.
+ */
+@Slf4j
+@Component
+public class TokenRateLimiter {
+
+    public static final String REQUESTS_PER_MINUTE_SETTING = "settings.token.rate-limit.requests-per-minute";
+    public static final String BURST_SETTING = "settings.token.rate-limit.burst";
+
+    private static final String METRIC_NAME = "token.endpoint.rate-limit";
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+    private final int defaultRequestsPerMinute;
+    private final int defaultBurst;
+    private final boolean globalQuota;
+    private final Cache<String, Bucket> buckets;
+
+    public TokenRateLimiter(RedissonClient redissonClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${token-endpoint.rate-limit.requests-per-minute:600}") int defaultRequestsPerMinute,
+                            @Value("${token-endpoint.rate-limit.burst:60}") int defaultBurst,
+                            @Value("${token-endpoint.rate-limit.global-quota:false}") boolean globalQuota) {
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+        this.defaultRequestsPerMinute = defaultRequestsPerMinute;
+        this.defaultBurst = defaultBurst;
+        this.globalQuota = globalQuota;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /**
+     * Takes one request from the client's quota.
+     *
+     * @return how long the client has to wait, or empty if the request may proceed
+     */
+    public Optional<Duration> acquire(RegisteredClient registeredClient) {
+        int requestsPerMinute = setting(registeredClient, REQUESTS_PER_MINUTE_SETTING, defaultRequestsPerMinute);
+        int burst = Math.max(1, setting(registeredClient, BURST_SETTING, defaultBurst));
+        if (requestsPerMinute <= 0) {
+            return Optional.empty();
+        }
+
+        Bucket bucket = buckets.getIfPresent(registeredClient.getId());
+        if (bucket == null || !bucket.hasLimits(requestsPerMinute, burst)) {
+            bucket = buckets.asMap().compute(registeredClient.getId(), (_, existing) ->
+                    existing != null && existing.hasLimits(requestsPerMinute, burst)
+                            ? existing
+                            : new Bucket(registeredClient, requestsPerMinute, burst, existing != null));
+        }
+
+        long waitNanos = bucket.tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            bucket.throttledLocal.increment();
+            return Optional.of(Duration.ofNanos(waitNanos));
+        }
+        if (globalQuota && !bucket.tryAcquireGlobal()) {
+            // The request is rejected, so the local slot it took is handed back
+            bucket.release();
+            bucket.throttledGlobal.increment();
+            return Optional.of(Duration.ofNanos(bucket.emissionIntervalNanos));
+        }
+        bucket.allowed.increment();
+        return Optional.empty();
+    }
+
+    private static int setting(RegisteredClient registeredClient, String name, int defaultValue) {
+        Object value = registeredClient.getTokenSettings().getSetting(name);
+        return value instanceof Number number ? number.intValue() : defaultValue;
+    }
+
+    private final class Bucket {
+
+        private final String registeredClientId;
+        private final int requestsPerMinute;
+        private final int burst;
+        private final long emissionIntervalNanos;
+        private final AtomicLong theoreticalArrivalNanos;
+        private final Counter allowed;
+        private final Counter throttledLocal;
+        private final Counter throttledGlobal;
+        private volatile @Nullable RRateLimiter globalLimiter;
+        private volatile boolean resetGlobalRate;
+
+        Bucket(RegisteredClient registeredClient, int requestsPerMinute, int burst, boolean limitsChanged) {
+            this.registeredClientId = registeredClient.getId();
+            this.requestsPerMinute = requestsPerMinute;
+            this.burst = burst;
+            this.emissionIntervalNanos = NANOS_PER_MINUTE / requestsPerMinute;
+            this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+            this.resetGlobalRate = limitsChanged;
+            this.allowed = counter(registeredClient, "allowed");
+            this.throttledLocal = counter(registeredClient, "throttled_local");
+            this.throttledGlobal = counter(registeredClient, "throttled_global");
+        }
+
+        boolean hasLimits(int requestsPerMinute, int burst) {
+            return this.requestsPerMinute == requestsPerMinute && this.burst == burst;
+        }
+
+        /**
+         * A request is allowed while the theoretical arrival time stays within {@code burst} intervals of now.
+         */
+        long tryAcquire(long nowNanos) {
+            while (true) {
+                long theoreticalArrival = theoreticalArrivalNanos.get();
+                long nextArrival = Math.max(theoreticalArrival, nowNanos) + emissionIntervalNanos;
+                long waitNanos = nextArrival - nowNanos - emissionIntervalNanos * burst;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrivalNanos.compareAndSet(theoreticalArrival, nextArrival)) {
+                    return 0;
+                }
+            }
+        }
+
+        void release() {
+            theoreticalArrivalNanos.addAndGet(-emissionIntervalNanos);
+        }
+
+        boolean tryAcquireGlobal() {
+            try {
+                return globalLimiter().tryAcquire();
+            } catch (RedisException e) {
+                log.warn("Global token endpoint quota unavailable, applying the local limit only. registeredClientId: {}, tryAcquireGlobal - Exception: {}", registeredClientId, ExceptionUtils.getStackTrace(e));
+                return true;
+            }
+        }
+
+        /**
+         * The rate is created once per bucket; a node that sees changed limits overwrites the shared rate.
+         */
+        private RRateLimiter globalLimiter() {
+            RRateLimiter limiter = globalLimiter;
+            if (limiter == null) {
+                limiter = redissonClient.getRateLimiter(String.format(ServiceConstants.TOKEN_RATE_LIMIT_KEY, registeredClientId));
+                if (resetGlobalRate) {
+                    limiter.setRate(RateType.OVERALL, requestsPerMinute, Duration.ofMinutes(1));
+                    resetGlobalRate = false;
+                } else {
+                    limiter.trySetRate(RateType.OVERALL, requestsPerMinute, Duration.ofMinutes(1));
+                }
+                globalLimiter = limiter;
+            }
+            return limiter;
+        }
+
+        private Counter counter(RegisteredClient registeredClient, String result) {
+            return Counter.builder(METRIC_NAME)
+                    .tag(ServiceConstants.CLIENT_ID_WITH_UNDERSCORE, registeredClient.getClientId())
+                    .tag("result", result)
+                    .description("Token endpoint requests by rate limit decision")
+                    .register(meterRegistry);
+        }
+    }
+}
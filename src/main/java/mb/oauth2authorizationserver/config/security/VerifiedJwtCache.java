@@ -0,0 +1,164 @@
+package mb.oauth2authorizationserver.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jwt.JWTParser;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of bearer tokens whose signature and claims were already verified.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the raw token instead of the token itself,
+ * and every entry expires at the {@code exp} claim of its token. Revoked tokens are rejected even if they are still
+ * cryptographically valid, until their own {@code exp}; revocations are never dropped to make room. The {@code exp} of
+ * a revoked token is taken from the cache or read from the token without verifying it, and a token without a
+ * readable {@code exp} is remembered for {@code jwt.cache.revoked-retention}.
+ * <p>
+ * Revocations and {@link #invalidateAll()} are handed to the revocation listener, which {@link JwtRevocationBroadcaster}
+ * uses to apply them on every node. A revocation is the token digest followed by a space and its {@code exp} in epoch
+ * seconds.
+ */
+@Component
+public class VerifiedJwtCache {
+
+    static final String ALL_TOKENS = "*";
+
+    private final Cache<String, VerifiedJwt> verifiedTokens;
+    private final Cache<String, Instant> revokedTokens;
+    private final Duration revokedRetention;
+    private volatile Consumer<String> revocationListener = _ -> {
+    };
+
+    public VerifiedJwtCache(@Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${jwt.cache.revoked-retention:P1D}") Duration revokedRetention) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry<String, VerifiedJwt>(verifiedJwt -> verifiedJwt.jwt().getExpiresAt()))
+                .build();
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfter(new TokenExpiry<String, Instant>(expiresAt -> expiresAt))
+                .build();
+        this.revokedRetention = revokedRetention;
+    }
+
+    /**
+     * Returns the verified token, calling {@code verifier} only when the token is not cached yet.
+     *
+     * @throws JwtException if the token has been revoked or the verifier rejects it
+     */
+    public VerifiedJwt get(String tokenValue, Function<String, VerifiedJwt> verifier) {
+        String digest = digest(tokenValue);
+        if (Objects.nonNull(revokedTokens.getIfPresent(digest))) {
+            throw new JwtException("Token has been revoked");
+        }
+        return verifiedTokens.get(digest, _ -> verifier.apply(tokenValue));
+    }
+
+    public void revoke(String tokenValue) {
+        String digest = digest(tokenValue);
+        String revocation = digest + " " + expiresAt(digest, tokenValue).getEpochSecond();
+        applyRevocation(revocation);
+        revocationListener.accept(revocation);
+    }
+
+    public void invalidateAll() {
+        applyRevocation(ALL_TOKENS);
+        revocationListener.accept(ALL_TOKENS);
+    }
+
+    /**
+     * Applies a revocation received from another node: a token digest with its {@code exp}, or {@value #ALL_TOKENS}
+     * for all tokens.
+     */
+    void applyRevocation(String revocation) {
+        if (ALL_TOKENS.equals(revocation)) {
+            verifiedTokens.invalidateAll();
+            return;
+        }
+        int separator = revocation.indexOf(' ');
+        String digest = separator < 0 ? revocation : revocation.substring(0, separator);
+        Instant expiresAt = separator < 0
+                ? Instant.now().plus(revokedRetention)
+                : Instant.ofEpochSecond(Long.parseLong(revocation.substring(separator + 1)));
+        revokedTokens.put(digest, expiresAt);
+        verifiedTokens.invalidate(digest);
+    }
+
+    /**
+     * Receives the digest of every revoked token, or {@value #ALL_TOKENS} when all tokens are invalidated.
+     */
+    void setRevocationListener(Consumer<String> revocationListener) {
+        this.revocationListener = revocationListener;
+    }
+
+    private Instant expiresAt(String digest, String tokenValue) {
+        VerifiedJwt verifiedJwt = verifiedTokens.getIfPresent(digest);
+        Instant expiresAt = verifiedJwt != null ? verifiedJwt.jwt().getExpiresAt() : readExpiresAt(tokenValue);
+        return expiresAt != null ? expiresAt : Instant.now().plus(revokedRetention);
+    }
+
+    @Nullable
+    private static Instant readExpiresAt(String tokenValue) {
+        try {
+            // The JSON form carries exp as epoch seconds
+            Object expirationTime = JWTParser.parse(tokenValue).getJWTClaimsSet().toJSONObject().get(JwtClaimNames.EXP);
+            return expirationTime instanceof Number epochSeconds ? Instant.ofEpochSecond(epochSeconds.longValue()) : null;
+        } catch (ParseException _) {
+            return null;
+        }
+    }
+
+    private static String digest(String tokenValue) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(tokenValue.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record VerifiedJwt(Jwt jwt, List<GrantedAuthority> authorities) {
+    }
+
+    private record TokenExpiry<K, V>(Function<V, @Nullable Instant> expiresAt) implements Expiry<K, V> {
+
+        @Override
+        public long expireAfterCreate(K key, V value, long currentTime) {
+            Instant expiresAt = this.expiresAt.apply(value);
+            if (Objects.isNull(expiresAt)) {
+                return 0L;
+            }
+            Duration remaining = Duration.between(Instant.now(), expiresAt);
+            return remaining.isNegative() ? 0L : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -6,13 +6,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
+import mb.oauth2authorizationserver.utils.UserAgentUtils;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import ua_parser.Client;
-import ua_parser.Parser;
 
 import java.io.Serial;
-import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Getter
@@ -23,6 +23,25 @@ public class HttpRequestDetails extends WebAuthenticationDetails {
     @Serial
     private static final long serialVersionUID = -1442946718508551777L;
 
+    /**
+     * Headers kept with the authentication details. Anything else, cookies and authorization in particular,
+     * is left out so the details stay small and free of credentials.
+     */
+    private static final List<String> CAPTURED_HEADERS = List.of(
+            "user-agent",
+            "accept-language",
+            "host",
+            "origin",
+            "referer",
+            "x-forwarded-for",
+            "x-forwarded-proto",
+            "x-real-ip",
+            "x-request-id",
+            "sec-ch-ua",
+            "sec-ch-ua-mobile",
+            "sec-ch-ua-platform"
+    );
+
     private final Map<String, String> headers;
     private final String rawUserAgent;
     private final String deviceFamily;
@@ -43,12 +62,12 @@ public class HttpRequestDetails extends WebAuthenticationDetails {
 
     public HttpRequestDetails(HttpServletRequest request) {
         super(request);
-        headers = new HashMap<>();
-        Enumeration<String> headerNames = request.getHeaderNames();
-
-        while (headerNames.hasMoreElements()) {
-            String name = headerNames.nextElement();
-            headers.put(name, request.getHeader(name));
+        headers = HashMap.newHashMap(CAPTURED_HEADERS.size());
+        for (String name : CAPTURED_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
         }
 
         this.rawUserAgent = request.getHeader("user-agent");
@@ -58,8 +77,7 @@ public class HttpRequestDetails extends WebAuthenticationDetails {
         this.url = request.getRequestURL().toString();
         this.remotePort = request.getServerPort();
 
-        Parser parser = new Parser();
-        Client client = parser.parse(rawUserAgent);
+        Client client = UserAgentUtils.parse(rawUserAgent);
 
         this.deviceFamily = client.device.family;
         this.osFamily = client.os.family;
@@ -21,8 +21,6 @@ import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.stereotype.Component;
 
-import java.net.Authenticator;
-import java.net.PasswordAuthentication;
 import java.util.Objects;
 
 @Slf4j
@@ -49,13 +47,6 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
             throw new OAuth2AuthenticationException(ErrorMessageConstants.CREDENTIALS_CAN_NOT_BE_EMPTY);
         }
 
-        Authenticator.setDefault(new Authenticator() {
-            @Override
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(username, password.toCharArray());
-            }
-        });
-
         SecurityUser user;
         try {
             user = (SecurityUser) userDetailsService.loadUserByUsername(username);
@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import mb.oauth2authorizationserver.config.security.CustomPasswordAuthenticationToken;
+import mb.oauth2authorizationserver.config.security.TokenIssuanceCoalescer;
 import mb.oauth2authorizationserver.config.security.builder.AuthorizationBuilderService;
 import mb.oauth2authorizationserver.config.security.model.CustomPasswordUser;
 import mb.oauth2authorizationserver.config.security.service.CustomAuthenticationService;
@@ -55,6 +56,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -69,6 +71,7 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
     private final AuthorizationBuilderService authorizationBuilderService;
     private final UserLoginAttemptService userLoginAttemptService;
     private final CustomAuthenticationService customAuthenticationService;
+    private final TokenIssuanceCoalescer tokenIssuanceCoalescer;
 
     @Override
     public Authentication authenticate(@NonNull Authentication authentication) throws AuthenticationException {
@@ -80,6 +83,17 @@ public class CustomPasswordAuthenticationProvider implements AuthenticationProvi
             throw new OAuth2AuthenticationException(OAuth2ErrorCodes.INVALID_CLIENT);
         }
 
+        // Identical concurrent grants (same client, credentials and scopes) share one verification and token issuance.
+        // The cluster lock key leaves the password out, every node still verifies it in issueToken.
+        String username = customPasswordAuthenticationToken.getUsername();
+        String scopes = String.join(" ", new TreeSet<>(customPasswordAuthenticationToken.getScopes()));
+        String flightKey = SecurityUtils.hmac(registeredClient.getId(), ServiceConstants.CUSTOM_PASSWORD, username,
+                Objects.toString(customPasswordAuthenticationToken.getPassword(), ""), scopes);
+        String lockKey = TokenIssuanceCoalescer.key(registeredClient.getId(), ServiceConstants.CUSTOM_PASSWORD, username, scopes);
+        return tokenIssuanceCoalescer.execute(flightKey, lockKey, () -> issueToken(customPasswordAuthenticationToken, clientPrincipal, registeredClient));
+    }
+
+    private Authentication issueToken(CustomPasswordAuthenticationToken customPasswordAuthenticationToken, OAuth2ClientAuthenticationToken clientPrincipal, RegisteredClient registeredClient) {
         String username = customPasswordAuthenticationToken.getUsername();
         String password = customPasswordAuthenticationToken.getPassword();
         SecurityUser user;
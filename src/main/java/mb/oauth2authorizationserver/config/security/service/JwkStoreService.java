@@ -0,0 +1,14 @@
+package mb.oauth2authorizationserver.config.security.service;
+
+import com.nimbusds.jose.jwk.RSAKey;
+
+/**
+ * Source of the RSA key used to sign and verify the JWTs issued by this server.
+ * <p>
+ * Every node behind the load balancer must resolve the same key (including its {@code kid}),
+ * otherwise tokens signed on one node fail verification on another.
+ */
+public interface JwkStoreService {
+
+    RSAKey loadOrGenerate();
+}
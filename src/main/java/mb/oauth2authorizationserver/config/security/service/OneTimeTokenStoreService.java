@@ -0,0 +1,21 @@
+package mb.oauth2authorizationserver.config.security.service;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.security.authentication.ott.OneTimeToken;
+
+/**
+ * Storage behind the one-time-token login.
+ * <p>
+ * Tokens must disappear on their own once {@link OneTimeToken#getExpiresAt()} has passed, and a token may be
+ * consumed at most once, even when two nodes try to consume it at the same time.
+ */
+public interface OneTimeTokenStoreService {
+
+    void save(OneTimeToken oneTimeToken);
+
+    /**
+     * Removes the token and returns it, or returns {@code null} when it was already consumed or has expired.
+     */
+    @Nullable
+    OneTimeToken consume(String tokenValue);
+}
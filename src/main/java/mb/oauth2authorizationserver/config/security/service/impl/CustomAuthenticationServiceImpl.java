@@ -1,43 +1,255 @@
 package mb.oauth2authorizationserver.config.security.service.impl;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.ExecutorConfig;
+import mb.oauth2authorizationserver.config.ExecutorProperties;
+import mb.oauth2authorizationserver.config.security.OutboundCredentials;
 import mb.oauth2authorizationserver.config.security.service.CustomAuthenticationService;
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
+import mb.oauth2authorizationserver.model.enums.AuthenticationSource;
+import mb.oauth2authorizationserver.utils.SecurityUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password hashing and LDAP binds run on the bounded {@value ExecutorConfig#AUTH_EXECUTOR}, so a slow directory or
+ * a flood of logins can only hold as many threads as that pool allows. When the pool and its queue are full the
+ * login fails fast with {@code temporarily_unavailable} instead of waiting.
+ * <p>
+ * The source that last authenticated a user (local password or LDAP) is remembered for
+ * {@code authentication.source-memory.ttl} and checked first next time, with the other source as fallback. For a user
+ * without a remembered source, {@code authentication.strategy=hedged} runs both checks at once and takes the first
+ * success, waiting at most {@code authentication.hedge-timeout}; {@code sequential} checks the local password first.
+ * Hedged checks can outlive the login that started them, so at most two per auth executor thread run at a time;
+ * when they are all taken the login checks sequentially on its own thread.
+ * Each check is recorded as {@code authentication.checks} by source and result. Without an LDAP directory configured
+ * only the local password is checked and nothing is hedged.
+ * <p>
+ * A password rejected by LDAP is remembered for {@code ldap.negative-cache.ttl}, keyed by a digest of the username
+ * and password, so retrying the same wrong password does not cost another bind (result {@code cached}).
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CustomAuthenticationServiceImpl implements CustomAuthenticationService {
 
+    private static final String HEDGED = "hedged";
+    private static final String SUCCESS = "success";
+    private static final String BAD_CREDENTIALS = "bad_credentials";
+
     private final PasswordEncoder passwordEncoder;
+    @Nullable
     private final AuthenticationManager ldapAuthenticationManager;
+    private final AsyncTaskExecutor authExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Boolean> rejectedCredentials;
+    private final Cache<String, AuthenticationSource> authenticationSources;
+    private final boolean hedged;
+    private final Duration hedgeTimeout;
+    private final SimpleAsyncTaskExecutor hedgeExecutor;
+    private final Semaphore hedgePermits;
+
+    public CustomAuthenticationServiceImpl(PasswordEncoder passwordEncoder,
+                                           @Qualifier("ldapAuthenticationManager") ObjectProvider<AuthenticationManager> ldapAuthenticationManager,
+                                           @Qualifier(ExecutorConfig.AUTH_EXECUTOR) AsyncTaskExecutor authExecutor,
+                                           ExecutorProperties executorProperties,
+                                           TaskDecorator taskDecorator,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${ldap.negative-cache.ttl:PT30S}") Duration negativeCacheTtl,
+                                           @Value("${ldap.negative-cache.maximum-size:10000}") long negativeCacheMaximumSize,
+                                           @Value("${authentication.strategy:hedged}") String strategy,
+                                           @Value("${authentication.hedge-timeout:PT5S}") Duration hedgeTimeout,
+                                           @Value("${authentication.source-memory.ttl:PT24H}") Duration sourceMemoryTtl,
+                                           @Value("${authentication.source-memory.maximum-size:100000}") long sourceMemoryMaximumSize) {
+        this.passwordEncoder = passwordEncoder;
+        this.ldapAuthenticationManager = ldapAuthenticationManager.getIfAvailable();
+        this.authExecutor = authExecutor;
+        this.meterRegistry = meterRegistry;
+        this.rejectedCredentials = Caffeine.newBuilder()
+                .expireAfterWrite(negativeCacheTtl)
+                .maximumSize(negativeCacheMaximumSize)
+                .build();
+        this.authenticationSources = Caffeine.newBuilder()
+                .expireAfterWrite(sourceMemoryTtl)
+                .maximumSize(sourceMemoryMaximumSize)
+                .build();
+        this.hedged = HEDGED.equalsIgnoreCase(strategy);
+        this.hedgeTimeout = hedgeTimeout;
+        this.hedgeExecutor = new SimpleAsyncTaskExecutor("auth-hedge-");
+        this.hedgeExecutor.setVirtualThreads(true);
+        this.hedgeExecutor.setTaskDecorator(taskDecorator);
+        this.hedgePermits = new Semaphore(AuthenticationSource.values().length * executorProperties.getAuth().getMaxSize());
+    }
 
     @Override
     public boolean authenticate(String password, SecurityUser user) {
-        if (passwordEncoder.matches(password, user.getPassword())) {
+        try {
+            return authExecutor.submit(() -> authenticateBlocking(password, user)).get();
+        } catch (RejectedExecutionException e) {
+            log.warn("Authentication executor is saturated. username: {}", user.getUsername());
+            throw new OAuth2AuthenticationException(new OAuth2Error(OAuth2ErrorCodes.TEMPORARILY_UNAVAILABLE, "Too many concurrent authentications, try again later.", SecurityUtils.ERROR_URI), e);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            throw new OAuth2AuthenticationException(new OAuth2Error(OAuth2ErrorCodes.SERVER_ERROR, "Interrupted while authenticating.", SecurityUtils.ERROR_URI));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private boolean authenticateBlocking(String password, SecurityUser user) {
+        AuthenticationSource remembered = authenticationSources.getIfPresent(user.getUsername());
+        AuthenticationSource source;
+        if (remembered != null) {
+            source = inOrder(remembered, password, user);
+        } else if (hedged && ldapAuthenticationManager != null) {
+            source = hedge(password, user);
+        } else {
+            source = inOrder(AuthenticationSource.DAO, password, user);
+        }
+
+        if (source != null) {
+            authenticationSources.put(user.getUsername(), source);
             return true;
         }
+        try {
+            return OutboundCredentials.callWith(user.getUsername(), password, () -> authenticateWithExternalService(user.getUsername()));
+        } catch (Exception e) {
+            log.error("Error occurred while requesting external authentication service. authenticate - Exception: {}", ExceptionUtils.getStackTrace(e));
+            return false;
+        }
+    }
+
+    @Nullable
+    private AuthenticationSource inOrder(AuthenticationSource first, String password, SecurityUser user) {
+        if (isAvailable(first) && check(first, password, user)) {
+            return first;
+        }
+        AuthenticationSource second = first.other();
+        return isAvailable(second) && check(second, password, user) ? second : null;
+    }
+
+    private boolean isAvailable(AuthenticationSource source) {
+        return source != AuthenticationSource.LDAP || ldapAuthenticationManager != null;
+    }
+
+    /**
+     * Runs both checks concurrently and completes with the first source that succeeds, or with {@code null} once
+     * both have failed or the timeout has passed. A check that has not started by then is skipped; one that is already
+     * running holds its permit until it returns. Without free permits the checks run in order on this thread.
+     */
+    @Nullable
+    private AuthenticationSource hedge(String password, SecurityUser user) {
+        AuthenticationSource[] sources = AuthenticationSource.values();
+        if (!hedgePermits.tryAcquire(sources.length)) {
+            log.debug("No hedge permits left, checking sequentially. username: {}", user.getUsername());
+            return inOrder(AuthenticationSource.DAO, password, user);
+        }
+
+        CompletableFuture<AuthenticationSource> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(sources.length);
+        for (AuthenticationSource source : sources) {
+            hedgeExecutor.execute(() -> {
+                boolean authenticated;
+                try {
+                    authenticated = !winner.isDone() && check(source, password, user);
+                } catch (RuntimeException e) {
+                    log.warn("Authentication check failed. source: {}, hedge - Exception: {}", source, ExceptionUtils.getStackTrace(e));
+                    authenticated = false;
+                } finally {
+                    hedgePermits.release();
+                }
+                if (authenticated) {
+                    winner.complete(source);
+                } else if (pending.decrementAndGet() == 0) {
+                    winner.complete(null);
+                }
+            });
+        }
 
         try {
-            return ldapAuthenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), password)).isAuthenticated() || authenticateWithExternalService(user.getUsername());
+            return winner.get(hedgeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException _) {
+            log.warn("Authentication checks did not finish within {}. username: {}", hedgeTimeout, user.getUsername());
+            winner.complete(null);
+            return null;
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            winner.complete(null);
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private boolean check(AuthenticationSource source, String password, SecurityUser user) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = switch (source) {
+            case DAO -> passwordEncoder.matches(password, user.getPassword()) ? SUCCESS : BAD_CREDENTIALS;
+            case LDAP -> checkLdap(password, user);
+        };
+        sample.stop(Timer.builder("authentication.checks")
+                .tag("source", source.name().toLowerCase())
+                .tag("result", result)
+                .description("Password checks by authentication source")
+                .register(meterRegistry));
+        return SUCCESS.equals(result);
+    }
+
+    private String checkLdap(String password, SecurityUser user) {
+        AuthenticationManager authenticationManager = ldapAuthenticationManager;
+        if (authenticationManager == null) {
+            return BAD_CREDENTIALS;
+        }
+
+        String credentialsKey = SecurityUtils.hmac(user.getUsername(), password);
+        if (rejectedCredentials.getIfPresent(credentialsKey) != null) {
+            return "cached";
+        }
+
+        try {
+            return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), password)).isAuthenticated() ? SUCCESS : BAD_CREDENTIALS;
+        } catch (BadCredentialsException _) {
+            rejectedCredentials.put(credentialsKey, Boolean.TRUE);
+            return BAD_CREDENTIALS;
         } catch (Exception e) {
-            if (!(e instanceof BadCredentialsException)) {
-                log.error("Error occurred while requesting LDAP. authenticate - Exception: {}", ExceptionUtils.getStackTrace(e));
-            }
-            return authenticateWithExternalService(user.getUsername());
+            log.error("Error occurred while requesting LDAP. authenticate - Exception: {}", ExceptionUtils.getStackTrace(e));
+            return "error";
         }
     }
 
     private boolean authenticateWithExternalService(String username) {
         // Placeholder for external authentication service
         // In a real implementation, this would call an external authentication service
+        // with the user's credentials from OutboundCredentials
         log.debug("Authenticating with external service for user: {}", username);
         return false;
     }
@@ -1,35 +1,79 @@
 package mb.oauth2authorizationserver.config.security.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.security.service.OneTimeTokenStoreService;
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.ott.DefaultOneTimeToken;
 import org.springframework.security.authentication.ott.GenerateOneTimeTokenRequest;
 import org.springframework.security.authentication.ott.OneTimeToken;
 import org.springframework.security.authentication.ott.OneTimeTokenAuthenticationToken;
 import org.springframework.security.authentication.ott.OneTimeTokenService;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Generates one-time tokens into the configured {@link OneTimeTokenStoreService}.
+ * <p>
+ * Anyone can ask for a token for any username, so a client address gets at most {@code ott.maximum-per-source}
+ * tokens per {@code ott.ttl}; further requests are refused with
+ * {@link OAuth2AuthorizationServerServiceErrorCode#ONE_TIME_TOKEN_SOURCE_LIMIT} and cannot fill the store for
+ * everybody else.
+ */
 @Slf4j
 @Service
 public class CustomOneTimeTokenServiceImpl implements OneTimeTokenService {
 
-    private final Map<String, OneTimeToken> oneTimeTokens = new ConcurrentHashMap<>();
+    private final OneTimeTokenStoreService oneTimeTokenStoreService;
+    private final Duration timeToLive;
     private final Clock clock = Clock.systemUTC();
+    private final int maximumPerSource;
+    // Counts start with the first token of a source and are dropped one ott.ttl later, with the tokens they counted
+    private final Cache<String, AtomicInteger> tokenCountsBySource;
 
+    public CustomOneTimeTokenServiceImpl(OneTimeTokenStoreService oneTimeTokenStoreService,
+                                         @Value("${ott.ttl:PT5M}") Duration timeToLive,
+                                         @Value("${ott.maximum-per-source:20}") int maximumPerSource,
+                                         @Value("${ott.maximum-size:100000}") long maximumSources) {
+        this.oneTimeTokenStoreService = oneTimeTokenStoreService;
+        this.timeToLive = timeToLive;
+        this.maximumPerSource = maximumPerSource;
+        this.tokenCountsBySource = Caffeine.newBuilder()
+                .expireAfterWrite(timeToLive)
+                .maximumSize(maximumSources)
+                .build();
+    }
+
+    /**
+     * @throws BaseException with {@link OAuth2AuthorizationServerServiceErrorCode#ONE_TIME_TOKEN_SOURCE_LIMIT} when the
+     *                       client address already generated {@code ott.maximum-per-source} tokens, or with
+     *                       {@link OAuth2AuthorizationServerServiceErrorCode#ONE_TIME_TOKEN_STORE_FULL} from the store
+     */
     @Override
     public OneTimeToken generate(GenerateOneTimeTokenRequest request) {
+        String source = source();
+        if (source != null && tokenCountsBySource.get(source, _ -> new AtomicInteger()).incrementAndGet() > maximumPerSource) {
+            log.warn("One-time token limit reached for source, refusing a new token. source: {}, maximumPerSource: {}", source, maximumPerSource);
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_SOURCE_LIMIT);
+        }
+
         String token = UUID.randomUUID().toString();
-        Instant expiresAt = this.clock.instant().plus(5, ChronoUnit.MINUTES);
+        Instant expiresAt = this.clock.instant().plus(timeToLive);
 
         OneTimeToken oneTimeToken = new DefaultOneTimeToken(token, request.getUsername(), expiresAt);
-        oneTimeTokens.put(token, oneTimeToken);
+        oneTimeTokenStoreService.save(oneTimeToken);
 
         return oneTimeToken;
     }
@@ -38,13 +82,22 @@ public class CustomOneTimeTokenServiceImpl implements OneTimeTokenService {
     @Override
     public OneTimeToken consume(OneTimeTokenAuthenticationToken authenticationToken) {
         log.info("Consuming one-time token: {}", authenticationToken.getTokenValue());
-        OneTimeToken oneTimeToken = oneTimeTokens.remove(authenticationToken.getTokenValue());
+        OneTimeToken oneTimeToken = oneTimeTokenStoreService.consume(authenticationToken.getTokenValue());
         if (oneTimeToken == null || isExpired(oneTimeToken)) {
             return null;
         }
         return oneTimeToken;
     }
 
+    @Nullable
+    private static String source() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletRequestAttributes) {
+            HttpServletRequest request = servletRequestAttributes.getRequest();
+            return request.getRemoteAddr();
+        }
+        return null;
+    }
+
     private boolean isExpired(OneTimeToken oneTimeToken) {
         return this.clock.instant().isAfter(oneTimeToken.getExpiresAt());
     }
@@ -0,0 +1,28 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import com.nimbusds.jose.jwk.RSAKey;
+import mb.oauth2authorizationserver.config.security.service.JwkStoreService;
+import mb.oauth2authorizationserver.utils.SecurityUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the signing key in a local file. Only suitable for single node deployments,
+ * use {@link RedisJwkStoreServiceImpl} when the server runs behind a load balancer.
+ */
+@Service
+@ConditionalOnProperty(name = "jwt.key.store", havingValue = "file", matchIfMissing = true)
+public class FileJwkStoreServiceImpl implements JwkStoreService {
+
+    private final String jwtKeyPath;
+
+    public FileJwkStoreServiceImpl(@Value("${jwt.key.path:./keys/jwt.key}") String jwtKeyPath) {
+        this.jwtKeyPath = jwtKeyPath;
+    }
+
+    @Override
+    public RSAKey loadOrGenerate() {
+        return SecurityUtils.loadOrGenerateRsa(jwtKeyPath);
+    }
+}
@@ -0,0 +1,108 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.security.service.OneTimeTokenStoreService;
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.ott.OneTimeToken;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one-time tokens on this node only, for single-node setups.
+ * <p>
+ * Caffeine tracks per-entry expiry in a hierarchical timing wheel and its scheduler sweeps expired tokens as their
+ * bucket comes due, so tokens that are never consumed do not pile up. Tokens are never evicted to make room for
+ * others: a username keeps at most {@code ott.maximum-per-user} tokens, generating another one drops its own oldest
+ * token, and once {@code ott.maximum-size} tokens are live new tokens are refused until some expire or are consumed.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "ott.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOneTimeTokenStoreServiceImpl implements OneTimeTokenStoreService {
+
+    private final Clock clock = Clock.systemUTC();
+    private final long maximumSize;
+    private final int maximumPerUser;
+    private final Cache<String, OneTimeToken> oneTimeTokens;
+    private final Map<String, Deque<String>> tokenValuesByUsername = new ConcurrentHashMap<>();
+
+    public InMemoryOneTimeTokenStoreServiceImpl(@Value("${ott.maximum-size:100000}") long maximumSize,
+                                                @Value("${ott.maximum-per-user:5}") int maximumPerUser) {
+        this.maximumSize = maximumSize;
+        this.maximumPerUser = maximumPerUser;
+        this.oneTimeTokens = Caffeine.newBuilder()
+                .expireAfter(Expiry.<String, OneTimeToken>creating((_, oneTimeToken) -> timeToLive(oneTimeToken)))
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    /**
+     * @throws BaseException with {@link OAuth2AuthorizationServerServiceErrorCode#ONE_TIME_TOKEN_STORE_FULL} when the
+     *                       store already holds {@code ott.maximum-size} tokens
+     */
+    @Override
+    public void save(OneTimeToken oneTimeToken) {
+        if (oneTimeTokens.estimatedSize() >= maximumSize) {
+            log.debug("One-time token store is full, refusing a new token. maximumSize: {}", maximumSize);
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_STORE_FULL);
+        }
+
+        List<String> dropped = new ArrayList<>();
+        tokenValuesByUsername.compute(oneTimeToken.getUsername(), (_, tokenValues) -> {
+            Deque<String> values = tokenValues == null ? new ArrayDeque<>() : tokenValues;
+            values.addLast(oneTimeToken.getTokenValue());
+            while (values.size() > maximumPerUser) {
+                dropped.add(values.removeFirst());
+            }
+            return values;
+        });
+        oneTimeTokens.put(oneTimeToken.getTokenValue(), oneTimeToken);
+        // Outside of compute, the removal listener updates the same map entry
+        oneTimeTokens.invalidateAll(dropped);
+    }
+
+    @Nullable
+    @Override
+    public OneTimeToken consume(String tokenValue) {
+        return oneTimeTokens.asMap().remove(tokenValue);
+    }
+
+    long estimatedSize() {
+        oneTimeTokens.cleanUp();
+        return oneTimeTokens.estimatedSize();
+    }
+
+    private void onRemoval(@Nullable String tokenValue, @Nullable OneTimeToken oneTimeToken, RemovalCause cause) {
+        if (tokenValue == null || oneTimeToken == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        tokenValuesByUsername.computeIfPresent(oneTimeToken.getUsername(), (_, tokenValues) -> {
+            tokenValues.remove(tokenValue);
+            return tokenValues.isEmpty() ? null : tokenValues;
+        });
+    }
+
+    private Duration timeToLive(OneTimeToken oneTimeToken) {
+        Duration timeToLive = Duration.between(clock.instant(), oneTimeToken.getExpiresAt());
+        return timeToLive.isNegative() ? Duration.ZERO : timeToLive;
+    }
+}
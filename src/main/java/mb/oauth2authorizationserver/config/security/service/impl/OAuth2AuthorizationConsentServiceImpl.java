@@ -0,0 +1,151 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import mb.oauth2authorizationserver.data.entity.AuthorizationConsent;
+import mb.oauth2authorizationserver.data.repository.AuthorizationConsentRepository;
+import org.jspecify.annotations.Nullable;
+import org.redisson.api.RMapCacheNative;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsent;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Consent store shared by all nodes.
+ * <p>
+ * Consents are persisted in the {@code authorization_consent} table and mirrored to a Redis hash per principal
+ * (client id to space-separated authorities). Lookups go through a local cache, then the hash, then the table, which
+ * refills the hash after a Redis flush. Changes on this node update the local cache right away; other nodes see
+ * them within {@code consent.cache-ttl}.
+ * <p>
+ * The hash and the local cache are only written after the database transaction commits, so a rolled-back save
+ * never reaches them. Every hash field expires after {@code consent.redis-ttl}: a lookup on another node can read
+ * the row just before a revocation commits and write it back after the revocation cleared the field, and the TTL
+ * bounds how long such a stale entry lives.
+ */
+@Slf4j
+@Service
+public class OAuth2AuthorizationConsentServiceImpl implements OAuth2AuthorizationConsentService {
+
+    private final AuthorizationConsentRepository authorizationConsentRepository;
+    private final RedissonClient redissonClient;
+    private final Cache<String, Optional<OAuth2AuthorizationConsent>> consents;
+    private final Duration redisTtl;
+
+    public OAuth2AuthorizationConsentServiceImpl(AuthorizationConsentRepository authorizationConsentRepository,
+                                                 RedissonClient redissonClient,
+                                                 @Value("${consent.cache-ttl:PT30S}") Duration cacheTtl,
+                                                 @Value("${consent.cache-maximum-size:10000}") long cacheMaximumSize,
+                                                 @Value("${consent.redis-ttl:PT10M}") Duration redisTtl) {
+        this.authorizationConsentRepository = authorizationConsentRepository;
+        this.redissonClient = redissonClient;
+        this.redisTtl = redisTtl;
+        this.consents = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void save(OAuth2AuthorizationConsent authorizationConsent) {
+        Assert.notNull(authorizationConsent, "authorizationConsent cannot be null");
+
+        String authorities = toAuthorities(authorizationConsent);
+        authorizationConsentRepository.save(new AuthorizationConsent(authorizationConsent.getRegisteredClientId(), authorizationConsent.getPrincipalName(), authorities));
+        afterCommit(() -> {
+            principalConsents(authorizationConsent.getPrincipalName()).fastPut(authorizationConsent.getRegisteredClientId(), authorities, redisTtl);
+            consents.put(cacheKey(authorizationConsent.getRegisteredClientId(), authorizationConsent.getPrincipalName()), Optional.of(authorizationConsent));
+        });
+    }
+
+    @Override
+    @Transactional
+    public void remove(OAuth2AuthorizationConsent authorizationConsent) {
+        Assert.notNull(authorizationConsent, "authorizationConsent cannot be null");
+
+        authorizationConsentRepository.deleteById(new AuthorizationConsent.AuthorizationConsentId(authorizationConsent.getRegisteredClientId(), authorizationConsent.getPrincipalName()));
+        afterCommit(() -> {
+            principalConsents(authorizationConsent.getPrincipalName()).fastRemove(authorizationConsent.getRegisteredClientId());
+            consents.put(cacheKey(authorizationConsent.getRegisteredClientId(), authorizationConsent.getPrincipalName()), Optional.empty());
+        });
+    }
+
+    @Nullable
+    @Override
+    public OAuth2AuthorizationConsent findById(String registeredClientId, String principalName) {
+        Assert.hasText(registeredClientId, "registeredClientId cannot be empty");
+        Assert.hasText(principalName, "principalName cannot be empty");
+
+        return consents.get(cacheKey(registeredClientId, principalName), _ -> Optional.ofNullable(load(registeredClientId, principalName)))
+                .orElse(null);
+    }
+
+    private @Nullable OAuth2AuthorizationConsent load(String registeredClientId, String principalName) {
+        RMapCacheNative<String, String> principalConsents = principalConsents(principalName);
+        String authorities = principalConsents.get(registeredClientId);
+        if (authorities == null) {
+            Optional<AuthorizationConsent> entity = authorizationConsentRepository.findById(new AuthorizationConsent.AuthorizationConsentId(registeredClientId, principalName));
+            if (entity.isEmpty()) {
+                return null;
+            }
+            authorities = entity.get().getAuthorities();
+            principalConsents.fastPut(registeredClientId, authorities, redisTtl);
+            log.debug("Consent loaded from database into Redis. registeredClientId: {}, principalName: {}", registeredClientId, principalName);
+        }
+        return toObject(registeredClientId, principalName, authorities);
+    }
+
+    private RMapCacheNative<String, String> principalConsents(String principalName) {
+        return redissonClient.getMapCacheNative(String.format(ServiceConstants.AUTHORIZATION_CONSENT_KEY, principalName), StringCodec.INSTANCE);
+    }
+
+    /**
+     * Runs the action once the surrounding transaction has committed, or right away outside of a transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String cacheKey(String registeredClientId, String principalName) {
+        return registeredClientId + ":" + principalName;
+    }
+
+    private static String toAuthorities(OAuth2AuthorizationConsent authorizationConsent) {
+        return authorizationConsent.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(" "));
+    }
+
+    private static OAuth2AuthorizationConsent toObject(String registeredClientId, String principalName, String authorities) {
+        OAuth2AuthorizationConsent.Builder builder = OAuth2AuthorizationConsent.withId(registeredClientId, principalName);
+        for (String authority : authorities.split(" ")) {
+            builder.authority(new SimpleGrantedAuthority(authority));
+        }
+        return builder.build();
+    }
+}
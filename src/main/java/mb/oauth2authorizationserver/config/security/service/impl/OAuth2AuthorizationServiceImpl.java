@@ -1,6 +1,7 @@
 package mb.oauth2authorizationserver.config.security.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache;
 import mb.oauth2authorizationserver.config.security.builder.AuthorizationBuilderService;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
 import mb.oauth2authorizationserver.data.entity.Authorization;
@@ -9,6 +10,7 @@ import org.jspecify.annotations.Nullable;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
@@ -28,12 +30,14 @@ public class OAuth2AuthorizationServiceImpl implements OAuth2AuthorizationServic
     private final AuthorizationRepository authorizationRepository;
     private final AuthorizationBuilderService authorizationBuilderService;
     private final RedissonClient redissonClient;
+    private final VerifiedJwtCache verifiedJwtCache;
 
-    public OAuth2AuthorizationServiceImpl(AuthorizationRepository authorizationRepository, AuthorizationBuilderService authorizationBuilderService, RedissonClient redissonClient) {
+    public OAuth2AuthorizationServiceImpl(AuthorizationRepository authorizationRepository, AuthorizationBuilderService authorizationBuilderService, RedissonClient redissonClient, VerifiedJwtCache verifiedJwtCache) {
         Assert.notNull(authorizationRepository, "authorizationRepository cannot be null");
         this.authorizationRepository = authorizationRepository;
         this.authorizationBuilderService = authorizationBuilderService;
         this.redissonClient = redissonClient;
+        this.verifiedJwtCache = verifiedJwtCache;
     }
 
     @Override
@@ -41,6 +45,12 @@ public class OAuth2AuthorizationServiceImpl implements OAuth2AuthorizationServic
     public void save(OAuth2Authorization authorization) {
         Assert.notNull(authorization, "authorization cannot be null");
 
+        // The revocation endpoint invalidates the access token through save, not remove
+        OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+        if (accessToken != null && accessToken.isInvalidated()) {
+            verifiedJwtCache.revoke(accessToken.getToken().getTokenValue());
+        }
+
         Authorization newEntity = authorizationBuilderService.toEntity(authorization);
         AuthorizationGrantType authorizationGrantType = authorization.getAuthorizationGrantType();
 
@@ -79,6 +89,10 @@ public class OAuth2AuthorizationServiceImpl implements OAuth2AuthorizationServic
     public void remove(OAuth2Authorization authorization) {
         Assert.notNull(authorization, "authorization cannot be null");
         this.authorizationRepository.deleteById(authorization.getId());
+        OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+        if (accessToken != null) {
+            this.verifiedJwtCache.revoke(accessToken.getToken().getTokenValue());
+        }
     }
 
     @Nullable
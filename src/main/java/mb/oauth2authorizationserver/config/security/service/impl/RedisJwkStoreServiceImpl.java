@@ -0,0 +1,113 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import com.nimbusds.jose.jwk.RSAKey;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.security.service.JwkStoreService;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
+import mb.oauth2authorizationserver.utils.EnvelopeEncryptionUtils;
+import mb.oauth2authorizationserver.utils.SecurityUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.jspecify.annotations.Nullable;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the signing key between all nodes through Redis.
+ * <p>
+ * The JWK (private part included) is stored envelope-encrypted with the master key configured in
+ * {@code jwt.key.master-key}, so a Redis dump never exposes the signing key in clear text.
+ * The first node that wins the distributed lock generates the key; every other node waits for
+ * the lock and then reads the key written by the leader, so all nodes converge on one key set
+ * without sticky routing.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "jwt.key.store", havingValue = "redis")
+public class RedisJwkStoreServiceImpl implements JwkStoreService {
+
+    private static final long LOCK_WAIT_SECONDS = 30;
+    private static final long LOCK_LEASE_SECONDS = 60;
+
+    private final RedissonClient redissonClient;
+    private final String masterKey;
+
+    public RedisJwkStoreServiceImpl(RedissonClient redissonClient, @Value("${jwt.key.master-key:}") String masterKey) {
+        if (StringUtils.isBlank(masterKey)) {
+            log.error("jwt.key.master-key must be set when jwt.key.store=redis");
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.INVALID_VALUE);
+        }
+        this.redissonClient = redissonClient;
+        this.masterKey = masterKey;
+    }
+
+    @Override
+    public RSAKey loadOrGenerate() {
+        RBucket<String> bucket = redissonClient.getBucket(ServiceConstants.JWK_STORE_KEY, StringCodec.INSTANCE);
+
+        RSAKey existingKey = read(bucket);
+        if (existingKey != null) {
+            return existingKey;
+        }
+
+        RLock lock = redissonClient.getLock(ServiceConstants.JWK_STORE_LOCK);
+        try {
+            if (!lock.tryLock(LOCK_WAIT_SECONDS, LOCK_LEASE_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Could not acquire JWK generation lock within timeout, reading key written by the leader node");
+                return readOrThrow(bucket);
+            }
+
+            // Another node may have been elected and written the key while we were waiting for the lock
+            existingKey = read(bucket);
+            if (existingKey != null) {
+                return existingKey;
+            }
+
+            RSAKey rsaKey = SecurityUtils.generateRsa();
+            if (!bucket.setIfAbsent(EnvelopeEncryptionUtils.encrypt(rsaKey.toJSONString(), masterKey))) {
+                return readOrThrow(bucket);
+            }
+            log.info("Generated and stored a new shared JWK. kid: {}", rsaKey.getKeyID());
+            return rsaKey;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while acquiring JWK generation lock. lockKey: {}", ServiceConstants.JWK_STORE_LOCK, e);
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.UNEXPECTED_ERROR);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private RSAKey readOrThrow(RBucket<String> bucket) {
+        RSAKey rsaKey = read(bucket);
+        if (rsaKey == null) {
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.UNEXPECTED_ERROR);
+        }
+        return rsaKey;
+    }
+
+    private @Nullable RSAKey read(RBucket<String> bucket) {
+        String envelope = bucket.get();
+        if (StringUtils.isBlank(envelope)) {
+            return null;
+        }
+        try {
+            return RSAKey.parse(EnvelopeEncryptionUtils.decrypt(envelope, masterKey));
+        } catch (ParseException e) {
+            log.error("Error occurred while parsing shared JWK. read - Exception: {}", ExceptionUtils.getStackTrace(e));
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.CAN_NOT_BE_DECODED);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import mb.oauth2authorizationserver.config.security.service.OneTimeTokenStoreService;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import org.jspecify.annotations.Nullable;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.ott.DefaultOneTimeToken;
+import org.springframework.security.authentication.ott.OneTimeToken;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Shares one-time tokens between all nodes through Redis.
+ * <p>
+ * Each token is a key holding {@code <expiresAt epoch millis>:<username>} with a native TTL, so Redis drops
+ * unconsumed tokens by itself. Consuming uses {@code GETDEL}, which makes reading and deleting one atomic step:
+ * of two nodes consuming the same token, only one gets it back.
+ */
+@Service
+@ConditionalOnProperty(name = "ott.store", havingValue = "redis")
+public class RedisOneTimeTokenStoreServiceImpl implements OneTimeTokenStoreService {
+
+    private static final String SEPARATOR = ":";
+
+    private final RedissonClient redissonClient;
+    private final Clock clock = Clock.systemUTC();
+
+    public RedisOneTimeTokenStoreServiceImpl(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    @Override
+    public void save(OneTimeToken oneTimeToken) {
+        Duration timeToLive = Duration.between(clock.instant(), oneTimeToken.getExpiresAt());
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            return;
+        }
+        String value = oneTimeToken.getExpiresAt().toEpochMilli() + SEPARATOR + oneTimeToken.getUsername();
+        bucket(oneTimeToken.getTokenValue()).set(value, timeToLive);
+    }
+
+    @Nullable
+    @Override
+    public OneTimeToken consume(String tokenValue) {
+        String value = bucket(tokenValue).getAndDelete();
+        if (value == null) {
+            return null;
+        }
+        int separatorIndex = value.indexOf(SEPARATOR);
+        Instant expiresAt = Instant.ofEpochMilli(Long.parseLong(value.substring(0, separatorIndex)));
+        return new DefaultOneTimeToken(tokenValue, value.substring(separatorIndex + 1), expiresAt);
+    }
+
+    private RBucket<String> bucket(String tokenValue) {
+        return redissonClient.getBucket(String.format(ServiceConstants.ONE_TIME_TOKEN_KEY, tokenValue), StringCodec.INSTANCE);
+    }
+}
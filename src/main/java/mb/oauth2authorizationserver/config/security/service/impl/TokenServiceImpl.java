@@ -2,6 +2,7 @@ package mb.oauth2authorizationserver.config.security.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache;
 import mb.oauth2authorizationserver.config.security.service.TokenService;
 import mb.oauth2authorizationserver.data.entity.Authorization;
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
@@ -21,6 +22,7 @@ import java.util.Optional;
 public class TokenServiceImpl implements TokenService {
 
     private final AuthorizationRepository authorizationRepository;
+    private final VerifiedJwtCache verifiedJwtCache;
 
     @Override
     public Page<Authorization> findTokensOrderIdDesc(Pageable pageable) {
@@ -32,6 +34,7 @@ public class TokenServiceImpl implements TokenService {
     public void revokeTokensOfUser(SecurityUser user) {
         List<Authorization> tokens = authorizationRepository.findByPrincipalName(user.getUsername());
         authorizationRepository.deleteAll(tokens);
+        tokens.forEach(this::revokeCachedAccessToken);
     }
 
     @Override
@@ -45,6 +48,7 @@ public class TokenServiceImpl implements TokenService {
     public long revokeAllTokens() {
         long count = authorizationRepository.count();
         authorizationRepository.deleteAll();
+        verifiedJwtCache.invalidateAll();
         return count;
     }
 
@@ -61,10 +65,18 @@ public class TokenServiceImpl implements TokenService {
     @Override
     public void remove(Authorization entity) {
         authorizationRepository.delete(entity);
+        revokeCachedAccessToken(entity);
     }
 
     @Override
     public Optional<Authorization> findByClientIdAndUsernameAndAuthorizationGrantType(String clientId, String username, String authorizationGrantType) {
         return authorizationRepository.findByRegisteredClientIdAndPrincipalNameAndAuthorizationGrantType(clientId, username, authorizationGrantType);
     }
+
+    private void revokeCachedAccessToken(Authorization authorization) {
+        String accessTokenValue = authorization.getAccessTokenValue();
+        if (accessTokenValue != null) {
+            verifiedJwtCache.revoke(accessTokenValue);
+        }
+    }
 }
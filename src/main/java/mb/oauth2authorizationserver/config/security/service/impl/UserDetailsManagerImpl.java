@@ -46,6 +46,6 @@ public class UserDetailsManagerImpl implements UserDetailsManager {
 
     @Override
     public boolean userExists(String username) {
-        return userRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username)).getUsername().equals(username);
+        return userRepository.existsByUsername(username);
     }
 }
@@ -15,6 +15,7 @@ public final class ErrorMessageConstants {
     public static final String CLIENT_SECRET_LENGTH_INVALID = "Client Secret must be %d characters.";
     public static final String SESSION_EVICTED = "Session evicted";
     public static final String SESSION_NOT_FOUND = "Session not found";
+    public static final String SESSION_EVICTION_STARTED = "Session eviction started";
 
     public static final String USER_NOT_FOUND = "user-not-found";
     public static final String CREDENTIALS_CAN_NOT_BE_EMPTY = "credentials-can-not-be-empty";
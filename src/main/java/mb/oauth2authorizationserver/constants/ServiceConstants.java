@@ -30,6 +30,17 @@ public final class ServiceConstants {
     public static final String TOKEN_PREFIX = "Bearer ";
     public static final String AUTHORIZATION_HEADER_STRING = "Authorization";
 
+    public static final String REQUEST_ID = "requestId";
+    public static final String TRACE_ID = "traceId";
+    public static final String SESSION_ID = "sessionId";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    /**
+     * Static resources and actuator endpoints. They bypass the custom servlet filters and get a stateless security chain.
+     */
+    public static final String[] FAST_PATH_PATTERNS = {"/css/**", "/js/**", "/images/**", "/fonts/**", "/webjars/**", "/actuator/**", "/favicon.ico"};
+
     public static final String USERNAME_WITH_UNDERSCORE = "user_name";
     public static final String CLIENT_ID_WITH_UNDERSCORE = "client_id";
     public static final String CLIENT = "client";
@@ -48,4 +59,14 @@ public final class ServiceConstants {
     public static final String USER_UPDATED = "User updated";
 
     public static final String AUTHORIZATION_LOCK = "oauth2-authorization-server:authorizationLock:%s:%s:%s";
+    public static final String JWK_STORE_KEY = "oauth2-authorization-server:jwk";
+    public static final String JWK_STORE_LOCK = "oauth2-authorization-server:jwkLock";
+    public static final String JWT_REVOCATION_TOPIC = "oauth2-authorization-server:jwtRevocations";
+    public static final String AUTHORIZATION_CONSENT_KEY = "oauth2-authorization-server:consents:%s";
+    public static final String ONE_TIME_TOKEN_KEY = "oauth2-authorization-server:ott:%s";
+    public static final String TOKEN_RATE_LIMIT_KEY = "oauth2-authorization-server:rateLimit:token:%s";
+    public static final String TOKEN_ISSUANCE_LOCK = "oauth2-authorization-server:tokenIssuanceLock:%s";
+    public static final String SESSION_NAMESPACE = "sso:session";
+    public static final String SESSION_PRINCIPALS_KEY = SESSION_NAMESPACE + ":principal-registrations";
+    public static final String SESSION_EVICTION_JOB_KEY = SESSION_NAMESPACE + ":evictions:%s";
 }
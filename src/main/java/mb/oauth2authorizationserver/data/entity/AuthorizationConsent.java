@@ -0,0 +1,43 @@
+package mb.oauth2authorizationserver.data.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "authorization_consent")
+@IdClass(AuthorizationConsent.AuthorizationConsentId.class)
+public class AuthorizationConsent {
+
+    @Id
+    private String registeredClientId;
+
+    @Id
+    private String principalName;
+
+    @Column(length = 1000)
+    private String authorities;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AuthorizationConsentId implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private String registeredClientId;
+        private String principalName;
+    }
+}
@@ -21,6 +21,7 @@ public class Client {
 
     @Id
     private String id;
+    @Column(unique = true)
     private String clientId;
     private Instant clientIdIssuedAt;
     private String clientSecret;
@@ -0,0 +1,7 @@
+package mb.oauth2authorizationserver.data.repository;
+
+import mb.oauth2authorizationserver.data.entity.AuthorizationConsent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AuthorizationConsentRepository extends JpaRepository<AuthorizationConsent, AuthorizationConsent.AuthorizationConsentId> {
+}
@@ -4,6 +4,8 @@ import mb.oauth2authorizationserver.data.entity.Client;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -11,5 +13,13 @@ public interface ClientRepository extends JpaRepository<Client, String> {
 
     Optional<Client> findByClientId(String clientId);
 
+    boolean existsByClientId(String clientId);
+
     Page<Client> findByClientIdContainingIgnoreCase(String clientId, Pageable pageable);
+
+    /**
+     * Full-text search with a query built by {@link mb.oauth2authorizationserver.config.jpa.FullTextQueryBuilder}.
+     */
+    @Query("select c from Client c where full_text_match(c.clientId, :clientId) > 0")
+    Page<Client> searchByClientId(@Param("clientId") String clientId, Pageable pageable);
 }
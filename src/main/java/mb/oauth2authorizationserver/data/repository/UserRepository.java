@@ -1,9 +1,12 @@
 package mb.oauth2authorizationserver.data.repository;
 
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -11,9 +14,26 @@ public interface UserRepository extends JpaRepository<SecurityUser, Long> {
 
     Optional<SecurityUser> findByUsername(String username);
 
+    boolean existsByUsername(String username);
+
     Page<SecurityUser> findByEnabledTrue(Pageable pageable);
 
     Page<SecurityUser> findByFirstNameContainingIgnoreCaseAndLastNameContainingIgnoreCase(String firstName, String lastName, Pageable pageable);
 
     Page<SecurityUser> findByFirstNameContainingIgnoreCaseAndLastNameContainingIgnoreCaseAndEnabledTrue(String firstName, String lastName, Pageable pageable);
+
+    /**
+     * Full-text search with queries built by {@link mb.oauth2authorizationserver.config.jpa.FullTextQueryBuilder};
+     * a {@code null} query does not filter on that column.
+     */
+    @Query("""
+            select u from SecurityUser u
+            where (:firstName is null or full_text_match(u.firstName, :firstName) > 0)
+              and (:lastName is null or full_text_match(u.lastName, :lastName) > 0)
+              and (:enabledOnly = false or u.enabled = true)
+            """)
+    Page<SecurityUser> searchByName(@Param("firstName") @Nullable String firstName,
+                                    @Param("lastName") @Nullable String lastName,
+                                    @Param("enabledOnly") boolean enabledOnly,
+                                    Pageable pageable);
 }
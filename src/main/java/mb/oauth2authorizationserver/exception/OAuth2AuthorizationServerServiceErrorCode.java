@@ -17,7 +17,9 @@ public enum OAuth2AuthorizationServerServiceErrorCode implements Serializable, E
     TOKEN_EXPIRED(HttpStatus.FORBIDDEN),
     EMPTY_OR_NULL_COLLECTION(HttpStatus.BAD_REQUEST),
     CAN_NOT_BE_ENCODED(HttpStatus.BAD_REQUEST),
-    CAN_NOT_BE_DECODED(HttpStatus.BAD_REQUEST);
+    CAN_NOT_BE_DECODED(HttpStatus.BAD_REQUEST),
+    ONE_TIME_TOKEN_STORE_FULL(HttpStatus.SERVICE_UNAVAILABLE),
+    ONE_TIME_TOKEN_SOURCE_LIMIT(HttpStatus.TOO_MANY_REQUESTS);
 
     private final HttpStatus httpStatus;
 
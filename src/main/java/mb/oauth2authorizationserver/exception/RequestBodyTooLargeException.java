@@ -0,0 +1,14 @@
+package mb.oauth2authorizationserver.exception;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a sanitized request body without a usable Content-Length turns out to be larger than
+ * {@code xss.max-body-size} while it is read. Answered with 413 like a too large declared Content-Length.
+ */
+public class RequestBodyTooLargeException extends IOException {
+
+    public RequestBodyTooLargeException(long maxBodySize) {
+        super("Request body exceeds the maximum size of " + maxBodySize + " bytes");
+    }
+}
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -21,6 +22,26 @@ public class RestResponseExceptionHandler {
         return new ResponseEntity<>(new LocalizedExceptionResponse(OAuth2AuthorizationServerServiceErrorCode.UNEXPECTED_ERROR.getCode(), ex.getMessage()), HttpStatus.NOT_FOUND);
     }
 
+    @ResponseBody
+    @ExceptionHandler(RequestBodyTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleRequestBodyTooLarge(RequestBodyTooLargeException ex) {
+        log.debug("Request body rejected: {}", ex.getMessage());
+        return new ResponseEntity<>(new LocalizedExceptionResponse(OAuth2AuthorizationServerServiceErrorCode.INVALID_VALUE.getCode(), ex.getMessage()), HttpStatus.CONTENT_TOO_LARGE);
+    }
+
+    /**
+     * Message converters wrap the {@link RequestBodyTooLargeException} of the XSS wrapper in an I/O error.
+     */
+    @ResponseBody
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleMessageNotReadable(HttpMessageNotReadableException ex) {
+        RequestBodyTooLargeException tooLarge = ExceptionUtils.throwableOfType(ex, RequestBodyTooLargeException.class);
+        if (tooLarge != null) {
+            return handleRequestBodyTooLarge(tooLarge);
+        }
+        return handleException(ex);
+    }
+
     @ResponseBody
     @ExceptionHandler(BaseException.class)
     public ResponseEntity<ErrorResponse> handleBaseException(BaseException ex) {
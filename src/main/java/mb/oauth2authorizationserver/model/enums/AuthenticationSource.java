@@ -0,0 +1,11 @@
+package mb.oauth2authorizationserver.model.enums;
+
+public enum AuthenticationSource {
+
+    DAO,
+    LDAP;
+
+    public AuthenticationSource other() {
+        return this == DAO ? LDAP : DAO;
+    }
+}
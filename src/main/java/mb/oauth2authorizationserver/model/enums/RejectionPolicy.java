@@ -0,0 +1,13 @@
+package mb.oauth2authorizationserver.model.enums;
+
+public enum RejectionPolicy {
+
+    /**
+     * Fail the submission with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    ABORT,
+    /**
+     * Run the task on the submitting thread, which slows the submitter down instead of failing it.
+     */
+    CALLER_RUNS
+}
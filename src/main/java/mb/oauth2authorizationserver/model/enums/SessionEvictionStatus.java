@@ -0,0 +1,8 @@
+package mb.oauth2authorizationserver.model.enums;
+
+public enum SessionEvictionStatus {
+
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -1,5 +1,6 @@
 package mb.oauth2authorizationserver.service;
 
+import mb.oauth2authorizationserver.api.response.SessionEvictionJobResponse;
 import mb.oauth2authorizationserver.data.entity.Authorization;
 import mb.oauth2authorizationserver.data.entity.Client;
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
@@ -13,6 +14,7 @@ import org.springframework.security.core.session.SessionInformation;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface AdminService {
@@ -97,5 +99,12 @@ public interface AdminService {
 
     String evictSession(UUID sessionId);
 
-    void evictAllSessions();
+    /**
+     * Starts evicting every session in the background.
+     *
+     * @return the job to poll with {@link #findSessionEvictionJob(UUID)}
+     */
+    SessionEvictionJobResponse evictAllSessions();
+
+    Optional<SessionEvictionJobResponse> findSessionEvictionJob(UUID jobId);
 }
@@ -0,0 +1,21 @@
+package mb.oauth2authorizationserver.service;
+
+import mb.oauth2authorizationserver.api.response.SessionEvictionJobResponse;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SessionEvictionService {
+
+    /**
+     * Registers a new eviction job, the sessions are evicted by {@link #evictAllSessions(UUID)}.
+     */
+    SessionEvictionJobResponse createJob();
+
+    /**
+     * Evicts every registered session off the request thread, recording progress on the job.
+     */
+    void evictAllSessions(UUID jobId);
+
+    Optional<SessionEvictionJobResponse> findJob(UUID jobId);
+}
@@ -2,6 +2,7 @@ package mb.oauth2authorizationserver.service.ai.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.ExecutorConfig;
 import mb.oauth2authorizationserver.service.ai.VectorStoreService;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.document.Document;
@@ -43,7 +44,7 @@ public class VectorStoreServiceImpl implements VectorStoreService {
         return vectorStore.similaritySearch(SearchRequest.builder().query(query).topK(5).build());
     }
 
-    @Async
+    @Async(ExecutorConfig.AI_EXECUTOR)
     @Override
     public void loadPdf() {
         var pdfReader = new ParagraphPdfDocumentReader(marketPdf);
@@ -2,6 +2,7 @@ package mb.oauth2authorizationserver.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.api.response.SessionEvictionJobResponse;
 import mb.oauth2authorizationserver.config.security.service.TokenService;
 import mb.oauth2authorizationserver.config.security.service.UserLoginAttemptService;
 import mb.oauth2authorizationserver.constants.ErrorMessageConstants;
@@ -16,6 +17,7 @@ import mb.oauth2authorizationserver.model.request.ClientUpdateFormData;
 import mb.oauth2authorizationserver.model.request.UserFormData;
 import mb.oauth2authorizationserver.service.AdminService;
 import mb.oauth2authorizationserver.service.ClientService;
+import mb.oauth2authorizationserver.service.SessionEvictionService;
 import mb.oauth2authorizationserver.service.UserService;
 import mb.oauth2authorizationserver.utils.SecurityUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -33,6 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -48,6 +51,7 @@ public class AdminServiceImpl implements AdminService {
     private final TokenService tokenService;
     private final UserLoginAttemptService userLoginAttemptService;
     private final SessionRegistry sessionRegistry;
+    private final SessionEvictionService sessionEvictionService;
     private final FindByIndexNameSessionRepository<?> sessionRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -247,15 +251,15 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    @Transactional
-    public void evictAllSessions() {
-        sessionRegistry.getAllPrincipals().forEach(principal -> {
-            List<SessionInformation> sessions = sessionRegistry.getAllSessions(principal, false);
-            sessions.forEach(session -> {
-                sessionRepository.deleteById(session.getSessionId());
-                sessionRegistry.removeSessionInformation(session.getSessionId());
-            });
-        });
+    public SessionEvictionJobResponse evictAllSessions() {
+        SessionEvictionJobResponse job = sessionEvictionService.createJob();
+        sessionEvictionService.evictAllSessions(job.jobId());
+        return job;
+    }
+
+    @Override
+    public Optional<SessionEvictionJobResponse> findSessionEvictionJob(UUID jobId) {
+        return sessionEvictionService.findJob(jobId);
     }
 
     // ── Private helpers ────────────────────────────────────
@@ -1,6 +1,7 @@
 package mb.oauth2authorizationserver.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import mb.oauth2authorizationserver.config.jpa.FullTextQueryBuilder;
 import mb.oauth2authorizationserver.data.entity.Client;
 import mb.oauth2authorizationserver.data.repository.ClientRepository;
 import mb.oauth2authorizationserver.service.ClientService;
@@ -16,6 +17,7 @@ import java.util.Optional;
 public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
+    private final FullTextQueryBuilder fullTextQueryBuilder;
 
     @Override
     public Page<Client> findAll(Pageable pageable) {
@@ -29,12 +31,17 @@ public class ClientServiceImpl implements ClientService {
 
     @Override
     public Page<Client> searchByClientId(String clientId, Pageable pageable) {
+        String query = fullTextQueryBuilder.prefixQuery(clientId);
+        if (query != null && fullTextQueryBuilder.isIndexable(clientId)) {
+            return clientRepository.searchByClientId(query, pageable);
+        }
+        // Words shorter than the index's minimum token size are not indexed, so fall back to the substring match.
         return clientRepository.findByClientIdContainingIgnoreCase(clientId, pageable);
     }
 
     @Override
     public boolean existsByClientId(String clientId) {
-        return clientRepository.findByClientId(clientId).isPresent();
+        return clientRepository.existsByClientId(clientId);
     }
 
     @Override
@@ -7,11 +7,15 @@ import mb.oauth2authorizationserver.api.request.DatabaseConfig;
 import mb.oauth2authorizationserver.api.request.MigrationRequest;
 import mb.oauth2authorizationserver.api.request.ScriptGenerationRequest;
 import mb.oauth2authorizationserver.api.response.ScriptGenerationResponse;
+import mb.oauth2authorizationserver.config.ExecutorConfig;
 import mb.oauth2authorizationserver.exception.BaseException;
 import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
 import mb.oauth2authorizationserver.service.OracleToolsService;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -25,14 +29,12 @@ import java.sql.Types;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
@@ -56,9 +58,10 @@ public class OracleToolsServiceImpl implements OracleToolsService {
     // Migration constants
     private static final long MIGRATION_LOCK_KEY = 123456789L;
     private static final int BATCH_SIZE = 10000;
-    private static final int THREAD_COUNT = 10;
     private static final int PROGRESS_INTERVAL_SECONDS = 30;
     private static final int QUERY_TIMEOUT = 600;
+    private static final int MAX_CHUNKS_PER_TABLE = 1000;
+    private static final Set<Integer> INTEGER_KEY_TYPES = Set.of(Types.BIGINT, Types.INTEGER, Types.SMALLINT);
 
     // Migration state
     private final AtomicLong totalProcessed = new AtomicLong(0);
@@ -67,6 +70,19 @@ public class OracleToolsServiceImpl implements OracleToolsService {
     private HikariDataSource currentPostgresDataSource;
     private String currentSourceSchema;
     private String currentTargetSchema;
+    // Every table and chunk reads the source through this snapshot, so all of them see the same committed state
+    private volatile String currentSnapshotId;
+
+    // Table and chunk copies run on the bounded migration worker pool, never on a pool created per migration
+    private final TaskExecutor migrationWorkerExecutor;
+    // Tables with more rows than this are copied in ranges of about this size, so one large table can use every worker
+    private final long chunkRows;
+
+    public OracleToolsServiceImpl(@Qualifier(ExecutorConfig.MIGRATION_WORKER_EXECUTOR) TaskExecutor migrationWorkerExecutor,
+                                  @Value("${migration.chunk-rows:1000000}") long chunkRows) {
+        this.migrationWorkerExecutor = migrationWorkerExecutor;
+        this.chunkRows = chunkRows;
+    }
 
     // =============================================
     // SCRIPT GENERATION
@@ -273,7 +289,7 @@ public class OracleToolsServiceImpl implements OracleToolsService {
         dcl.append("GRANT ").append(viewRole).append(" TO ").append(String.join(", ", viewRoleUsers)).append(";").append(LINE_SEPARATOR);
     }
 
-    @Async
+    @Async(ExecutorConfig.MIGRATION_EXECUTOR)
     @Override
     public void migrate(MigrationRequest request) {
         try {
@@ -349,39 +365,43 @@ public class OracleToolsServiceImpl implements OracleToolsService {
 
     private void performMigration() {
         Instant start = Instant.now();
-        log.info("Starting PostgreSQL to Oracle migration with {} threads, batch size: {}", THREAD_COUNT, BATCH_SIZE);
+        log.info("Starting PostgreSQL to Oracle migration, batch size: {}", BATCH_SIZE);
 
         List<TableMapping> tableMappings = getTableMappingsForMigration();
-        estimatedTotal = getEstimatedTotal(tableMappings);
+        Map<TableMapping, Long> rowCounts = getRowCounts(tableMappings);
+        estimatedTotal = rowCounts.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Estimated total records to migrate: {}", estimatedTotal);
+        List<TableMapping> chunks = splitIntoChunks(tableMappings, rowCounts);
 
         disableAllForeignKeys();
 
-        CountDownLatch latch = new CountDownLatch(tableMappings.size());
-
-        try (ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
-             ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor()) {
+        CountDownLatch latch = new CountDownLatch(chunks.size());
 
-            for (TableMapping mapping : tableMappings) {
-                executor.submit(() -> {
+        try (Connection _ = exportSnapshot()) {
+            for (TableMapping mapping : chunks) {
+                migrationWorkerExecutor.execute(() -> {
                     try {
                         migrateTable(mapping);
                     } catch (Exception e) {
-                        log.error("Failed to migrate table {}: {}", mapping.sourceTable(), e.getMessage(), e);
+                        log.error("Failed to migrate table {}: {}", mapping.description(), e.getMessage(), e);
                     } finally {
                         latch.countDown();
                     }
                 });
             }
 
-            monitor.scheduleAtFixedRate(() -> logProgress(start), PROGRESS_INTERVAL_SECONDS, PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
-
-            latch.await();
-            monitor.shutdown();
+            while (!latch.await(PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+                logProgress(start);
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("Migration interrupted. Exception: {}", ExceptionUtils.getStackTrace(e));
             throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.UNEXPECTED_ERROR);
+        } catch (SQLException e) {
+            log.error("Failed to export a source snapshot. Exception: {}", ExceptionUtils.getStackTrace(e));
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.UNEXPECTED_ERROR);
         } finally {
+            currentSnapshotId = null;
             updateAllSequences();
             enableAllForeignKeys();
         }
@@ -389,6 +409,37 @@ public class OracleToolsServiceImpl implements OracleToolsService {
         logFinalStatistics(start);
     }
 
+    /**
+     * Opens a transaction on the source and exports its snapshot. Chunks of one table are read by different
+     * connections at different times; importing this snapshot makes them all see the source as of this moment, so
+     * rows that are updated or moved between ranges while the migration runs are copied exactly once. The returned
+     * connection keeps the snapshot alive and must stay open until every chunk has finished.
+     */
+    private Connection exportSnapshot() throws SQLException {
+        Connection connection = currentPostgresDataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT pg_export_snapshot()")) {
+                resultSet.next();
+                currentSnapshotId = resultSet.getString(1);
+            }
+            log.info("Exported source snapshot {}", currentSnapshotId);
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private void importSnapshot(Connection connection) throws SQLException {
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET TRANSACTION SNAPSHOT '%s'".formatted(currentSnapshotId));
+        }
+    }
+
     private void updateAllSequences() {
         log.info("Updating all sequences to latest record values in schema {}.", currentTargetSchema);
 
@@ -595,26 +646,127 @@ public class OracleToolsServiceImpl implements OracleToolsService {
         return mappings;
     }
 
-    private long getEstimatedTotal(List<TableMapping> tableMappings) {
-        long total = 0;
+    private Map<TableMapping, Long> getRowCounts(List<TableMapping> tableMappings) {
+        Map<TableMapping, Long> rowCounts = new LinkedHashMap<>();
         for (TableMapping mapping : tableMappings) {
             String countQuery = "SELECT COUNT(*) FROM %s".formatted(mapping.sourceTable());
             try (Connection connection = currentPostgresDataSource.getConnection();
                  PreparedStatement preparedStatement = connection.prepareStatement(countQuery);
                  ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    total += resultSet.getLong(1);
+                    rowCounts.put(mapping, resultSet.getLong(1));
                 }
             } catch (SQLException e) {
                 log.warn("Could not get count for table {}: {}", mapping.sourceTable(), e.getMessage());
             }
         }
-        log.info("Estimated total records to migrate: {}", total);
-        return total;
+        return rowCounts;
+    }
+
+    /**
+     * Splits every table with more than {@code chunkRows} rows into ranges that are migrated as separate tasks, and
+     * orders all tasks largest table first. Workers take the next task from the shared queue as soon as they are
+     * free, so a large table is copied by all of them and the small tables fill the gaps at the end.
+     * Tables that cannot be split are migrated as a whole.
+     */
+    private List<TableMapping> splitIntoChunks(List<TableMapping> tableMappings, Map<TableMapping, Long> rowCounts) {
+        List<TableMapping> largestFirst = tableMappings.stream()
+                .sorted(Comparator.comparingLong((TableMapping mapping) -> rowCounts.getOrDefault(mapping, 0L)).reversed())
+                .toList();
+
+        List<TableMapping> chunks = new ArrayList<>();
+        for (TableMapping mapping : largestFirst) {
+            long rows = rowCounts.getOrDefault(mapping, 0L);
+            int chunkCount = (int) Math.min(MAX_CHUNKS_PER_TABLE, (rows + chunkRows - 1) / chunkRows);
+            if (chunkCount <= 1) {
+                chunks.add(mapping);
+                continue;
+            }
+
+            try {
+                List<TableMapping> tableChunks = splitTable(mapping, chunkCount);
+                log.info("Split table {} ({} rows) into {} chunks", mapping.sourceTable(), rows, tableChunks.size());
+                chunks.addAll(tableChunks);
+            } catch (SQLException e) {
+                log.warn("Could not split table {}, migrating it as a whole: {}", mapping.sourceTable(), e.getMessage());
+                chunks.add(mapping);
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits on a single integer primary key when there is one, otherwise on {@code ctid} page ranges, which
+     * PostgreSQL 14+ reads with a TID range scan.
+     */
+    private List<TableMapping> splitTable(TableMapping mapping, int chunkCount) throws SQLException {
+        String[] schemaAndTable = mapping.sourceTable().split("\\.", 2);
+        try (Connection connection = currentPostgresDataSource.getConnection()) {
+            List<String> primaryKeys = getPrimaryKeyColumns(connection, schemaAndTable[0], schemaAndTable[1]);
+            if (primaryKeys.size() == 1) {
+                List<TableMapping> keyRanges = splitByKeyRange(connection, mapping, primaryKeys.getFirst(), chunkCount);
+                if (!keyRanges.isEmpty()) {
+                    return keyRanges;
+                }
+            }
+            return splitByPages(connection, mapping, chunkCount);
+        }
+    }
+
+    private List<TableMapping> splitByKeyRange(Connection connection, TableMapping mapping, String keyColumn, int chunkCount) throws SQLException {
+        String column = "\"" + keyColumn + "\"";
+        String query = "SELECT MIN(%s), MAX(%s) FROM %s".formatted(column, column, mapping.sourceTable());
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            if (!INTEGER_KEY_TYPES.contains(resultSet.getMetaData().getColumnType(1)) || !resultSet.next() || resultSet.getObject(1) == null) {
+                return List.of();
+            }
+
+            long min = resultSet.getLong(1);
+            long step = (resultSet.getLong(2) - min) / chunkCount;
+            if (step == 0) {
+                return List.of(mapping);
+            }
+
+            List<TableMapping> chunks = new ArrayList<>();
+            chunks.add(mapping.chunk("%s < %d".formatted(column, min + step)));
+            for (int i = 1; i < chunkCount - 1; i++) {
+                chunks.add(mapping.chunk("%s >= %d AND %s < %d".formatted(column, min + step * i, column, min + step * (i + 1))));
+            }
+            chunks.add(mapping.chunk("%s >= %d".formatted(column, min + step * (chunkCount - 1))));
+            return chunks;
+        }
+    }
+
+    private List<TableMapping> splitByPages(Connection connection, TableMapping mapping, int chunkCount) throws SQLException {
+        String query = "SELECT pg_relation_size(?::regclass) / current_setting('block_size')::bigint";
+        long pages;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, mapping.sourceTable());
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                pages = resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+
+        long pagesPerChunk = (pages + chunkCount - 1) / chunkCount;
+        if (pagesPerChunk == 0) {
+            return List.of(mapping);
+        }
+
+        // The last range is open so rows on pages added between reading the size and exporting the snapshot are still copied
+        List<TableMapping> chunks = new ArrayList<>();
+        for (long start = 0; start < pages; start += pagesPerChunk) {
+            long end = start + pagesPerChunk;
+            chunks.add(mapping.chunk(end < pages
+                    ? "ctid >= '(%d,0)'::tid AND ctid < '(%d,0)'::tid".formatted(start, end)
+                    : "ctid >= '(%d,0)'::tid".formatted(start)));
+        }
+        return chunks;
     }
 
     private void migrateTable(TableMapping tableMapping) throws SQLException {
-        log.info("Starting migration of table: {} -> {}", tableMapping.sourceTable(), tableMapping.targetTable());
+        log.info("Starting migration of table: {} -> {}", tableMapping.description(), tableMapping.targetTable());
         Instant tableStart = Instant.now();
 
         try (Connection postgresDataSourceConnection = currentPostgresDataSource.getConnection();
@@ -622,6 +774,7 @@ public class OracleToolsServiceImpl implements OracleToolsService {
 
             postgresDataSourceConnection.setAutoCommit(false);
             oracleDataSourceConnection.setAutoCommit(false);
+            importSnapshot(postgresDataSourceConnection);
 
             String selectQuery = tableMapping.selectQuery() != null ? tableMapping.selectQuery() : "SELECT * FROM %s".formatted(tableMapping.sourceTable());
 
@@ -660,7 +813,7 @@ public class OracleToolsServiceImpl implements OracleToolsService {
                         }
 
                         Duration duration = Duration.between(tableStart, Instant.now());
-                        log.info("Completed migration of table {} -> {}. Records: {}, Duration: {}s", tableMapping.sourceTable(), tableMapping.targetTable(), tableProcessed, duration.getSeconds());
+                        log.info("Completed migration of table {} -> {}. Records: {}, Duration: {}s", tableMapping.description(), tableMapping.targetTable(), tableProcessed, duration.getSeconds());
                     }
                 }
             }
@@ -1274,9 +1427,17 @@ public class OracleToolsServiceImpl implements OracleToolsService {
         }
     }
 
-    private record TableMapping(String sourceTable, String targetTable, String selectQuery) {
+    private record TableMapping(String sourceTable, String targetTable, String selectQuery, String range) {
         public TableMapping(String sourceTable, String targetTable) {
-            this(sourceTable, targetTable, null);
+            this(sourceTable, targetTable, null, null);
+        }
+
+        TableMapping chunk(String condition) {
+            return new TableMapping(sourceTable, targetTable, "SELECT * FROM %s WHERE %s".formatted(sourceTable, condition), condition);
+        }
+
+        String description() {
+            return range == null ? sourceTable : "%s [%s]".formatted(sourceTable, range);
         }
     }
 
@@ -4,6 +4,8 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.security.RedisSessionEvictor;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache;
 import mb.oauth2authorizationserver.config.security.service.impl.UserDetailsManagerImpl;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
@@ -18,9 +20,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.session.FindByIndexNameSessionRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Objects;
 
 @Slf4j
@@ -33,8 +35,9 @@ public class SecurityServiceImpl implements SecurityService {
     private final AuthorizationRepository authorizationRepository;
     private final AuthenticationManager authenticationManager;
     private final HttpServletRequest servletRequest;
-    private final FindByIndexNameSessionRepository<?> sessionRepository;
     private final SessionRegistry sessionRegistry;
+    private final VerifiedJwtCache verifiedJwtCache;
+    private final RedisSessionEvictor redisSessionEvictor;
 
     @Override
     public String findLoggedInUsername() {
@@ -62,6 +65,7 @@ public class SecurityServiceImpl implements SecurityService {
 
         if (Objects.nonNull(authorization) && authorization.contains(ServiceConstants.TOKEN_PREFIX)) {
             String token = authorization.substring(ServiceConstants.TOKEN_PREFIX.length());
+            verifiedJwtCache.revoke(token);
 
             try {
                 authorizationRepository.deleteByAccessTokenValue(token);
@@ -91,24 +95,23 @@ public class SecurityServiceImpl implements SecurityService {
 
     @Override
     public void invalidateExpiredSessions(Object principal) {
-        sessionRegistry
+        List<String> sessionIds = sessionRegistry
                 .getAllSessions(principal, true)
                 .stream()
                 .filter(SessionInformation::isExpired)
-                .forEach(sessionInformation -> {
-                    sessionRepository.deleteById(sessionInformation.getSessionId());
-                    sessionRegistry.removeSessionInformation(sessionInformation.getSessionId());
-                });
+                .map(SessionInformation::getSessionId)
+                .toList();
+        redisSessionEvictor.evict(principal, sessionIds);
     }
 
     @Override
     public void invalidateSessions(Object principal, boolean clearExpiredSessions) {
-        sessionRegistry
+        List<String> sessionIds = sessionRegistry
                 .getAllSessions(principal, clearExpiredSessions)
-                .forEach(sessionInformation -> {
-                    sessionRepository.deleteById(sessionInformation.getSessionId());
-                    sessionRegistry.removeSessionInformation(sessionInformation.getSessionId());
-                });
+                .stream()
+                .map(SessionInformation::getSessionId)
+                .toList();
+        redisSessionEvictor.evict(principal, sessionIds);
     }
 
     @Override
@@ -0,0 +1,98 @@
+package mb.oauth2authorizationserver.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.api.response.SessionEvictionJobResponse;
+import mb.oauth2authorizationserver.config.ExecutorConfig;
+import mb.oauth2authorizationserver.config.security.RedisSessionEvictor;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import mb.oauth2authorizationserver.model.enums.SessionEvictionStatus;
+import mb.oauth2authorizationserver.service.SessionEvictionService;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Runs "evict all sessions" as a background job.
+ * <p>
+ * Job progress is kept in Redis for {@value #JOB_RETENTION_HOURS} hour, so the admin UI can poll any node.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionEvictionServiceImpl implements SessionEvictionService {
+
+    private static final long JOB_RETENTION_HOURS = 1;
+    private static final String STATUS = "status";
+    private static final String TOTAL = "total";
+    private static final String EVICTED = "evicted";
+
+    private final SessionRegistry sessionRegistry;
+    private final RedisSessionEvictor redisSessionEvictor;
+    private final RedissonClient redissonClient;
+
+    @Override
+    public SessionEvictionJobResponse createJob() {
+        UUID jobId = UUID.randomUUID();
+        RMap<String, String> job = getJob(jobId);
+        job.putAll(Map.of(STATUS, SessionEvictionStatus.RUNNING.name(), TOTAL, "0", EVICTED, "0"));
+        job.expire(Duration.ofHours(JOB_RETENTION_HOURS));
+        return new SessionEvictionJobResponse(jobId, SessionEvictionStatus.RUNNING, 0, 0);
+    }
+
+    @Async(ExecutorConfig.IO_EXECUTOR)
+    @Override
+    public void evictAllSessions(UUID jobId) {
+        RMap<String, String> job = getJob(jobId);
+        try {
+            Map<Object, List<String>> sessionIdsByPrincipal = new LinkedHashMap<>();
+            long total = 0;
+            for (Object principal : sessionRegistry.getAllPrincipals()) {
+                List<String> sessionIds = sessionRegistry.getAllSessions(principal, true)
+                        .stream()
+                        .map(SessionInformation::getSessionId)
+                        .toList();
+                sessionIdsByPrincipal.put(principal, sessionIds);
+                total += sessionIds.size();
+            }
+            job.fastPut(TOTAL, String.valueOf(total));
+            log.info("Session eviction job started. jobId: {}, principals: {}, sessions: {}", jobId, sessionIdsByPrincipal.size(), total);
+
+            long evicted = redisSessionEvictor.evict(sessionIdsByPrincipal, processed -> job.fastPut(EVICTED, String.valueOf(processed)));
+
+            job.fastPut(STATUS, SessionEvictionStatus.COMPLETED.name());
+            log.info("Session eviction job completed. jobId: {}, evicted: {}", jobId, evicted);
+        } catch (RuntimeException e) {
+            job.fastPut(STATUS, SessionEvictionStatus.FAILED.name());
+            log.error("Session eviction job failed. jobId: {}, evictAllSessions - Exception: {}", jobId, ExceptionUtils.getStackTrace(e));
+        }
+    }
+
+    @Override
+    public Optional<SessionEvictionJobResponse> findJob(UUID jobId) {
+        Map<String, String> job = getJob(jobId).readAllMap();
+        if (job.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new SessionEvictionJobResponse(jobId,
+                SessionEvictionStatus.valueOf(job.get(STATUS)),
+                Long.parseLong(job.get(TOTAL)),
+                Long.parseLong(job.get(EVICTED))));
+    }
+
+    private RMap<String, String> getJob(UUID jobId) {
+        return redissonClient.getMap(ServiceConstants.SESSION_EVICTION_JOB_KEY.formatted(jobId), StringCodec.INSTANCE);
+    }
+}
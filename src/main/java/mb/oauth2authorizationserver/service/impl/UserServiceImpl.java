@@ -2,6 +2,7 @@ package mb.oauth2authorizationserver.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.jpa.FullTextQueryBuilder;
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
 import mb.oauth2authorizationserver.data.repository.AuthorityRepository;
 import mb.oauth2authorizationserver.data.repository.UserRepository;
@@ -26,6 +27,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final AuthorityRepository authorityRepository;
     private final PasswordEncoder passwordEncoder;
+    private final FullTextQueryBuilder fullTextQueryBuilder;
 
     @Override
     public Page<SecurityUser> getAllUsers(Pageable pageable) {
@@ -44,14 +46,29 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Page<SecurityUser> findByNameAndLastName(String firstName, String lastName, Pageable pageable) {
+        if (isFullTextSearchable(firstName, lastName)) {
+            return userRepository.searchByName(fullTextQueryBuilder.prefixQuery(firstName), fullTextQueryBuilder.prefixQuery(lastName), false, pageable);
+        }
         return userRepository.findByFirstNameContainingIgnoreCaseAndLastNameContainingIgnoreCase(firstName, lastName, pageable);
     }
 
     @Override
     public Page<SecurityUser> findByNameAndLastNameAndEnabledTrue(String firstName, String lastName, Pageable pageable) {
+        if (isFullTextSearchable(firstName, lastName)) {
+            return userRepository.searchByName(fullTextQueryBuilder.prefixQuery(firstName), fullTextQueryBuilder.prefixQuery(lastName), true, pageable);
+        }
         return userRepository.findByFirstNameContainingIgnoreCaseAndLastNameContainingIgnoreCaseAndEnabledTrue(firstName, lastName, pageable);
     }
 
+    /**
+     * Words shorter than the full-text index's minimum token size are not indexed, so such searches keep using the
+     * substring match.
+     */
+    private boolean isFullTextSearchable(String firstName, String lastName) {
+        boolean hasWords = fullTextQueryBuilder.prefixQuery(firstName) != null || fullTextQueryBuilder.prefixQuery(lastName) != null;
+        return hasWords && fullTextQueryBuilder.isIndexable(firstName) && fullTextQueryBuilder.isIndexable(lastName);
+    }
+
     @Override
     public SecurityUser findById(Long id) {
         return userRepository.findById(id)
@@ -60,7 +77,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public boolean existsByUsername(String username) {
-        return userRepository.findByUsername(username).isPresent();
+        return userRepository.existsByUsername(username);
     }
 
     @Override
@@ -0,0 +1,56 @@
+package mb.oauth2authorizationserver.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BearerTokenUtils {
+
+    /**
+     * Upper bound of interned authorities. Role names come from signed tokens so the set is small in practice,
+     * the limit only protects the heap if a misconfigured issuer starts minting unique role strings.
+     */
+    private static final int MAX_INTERNED_AUTHORITIES = 1024;
+    private static final Map<String, GrantedAuthority> INTERNED_AUTHORITIES = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the credentials part of a {@code Bearer} authorization header, or {@code null} if the header
+     * uses another scheme. The scheme is matched in place, so the only allocation is the returned token.
+     */
+    public static String resolveToken(String authorizationHeader) {
+        int prefixLength = ServiceConstants.TOKEN_PREFIX.length();
+        if (authorizationHeader == null || !authorizationHeader.regionMatches(true, 0, ServiceConstants.TOKEN_PREFIX, 0, prefixLength)) {
+            return null;
+        }
+        return authorizationHeader.substring(prefixLength);
+    }
+
+    /**
+     * Maps role names to authorities, sharing one {@link GrantedAuthority} instance per distinct role.
+     */
+    public static List<GrantedAuthority> toAuthorities(List<String> roles) {
+        GrantedAuthority[] authorities = new GrantedAuthority[roles.size()];
+        for (int i = 0; i < authorities.length; i++) {
+            authorities[i] = intern(roles.get(i));
+        }
+        return List.of(authorities);
+    }
+
+    public static GrantedAuthority intern(String role) {
+        GrantedAuthority authority = INTERNED_AUTHORITIES.get(role);
+        if (authority != null) {
+            return authority;
+        }
+        if (INTERNED_AUTHORITIES.size() >= MAX_INTERNED_AUTHORITIES) {
+            return new SimpleGrantedAuthority(role);
+        }
+        return INTERNED_AUTHORITIES.computeIfAbsent(role, SimpleGrantedAuthority::new);
+    }
+}
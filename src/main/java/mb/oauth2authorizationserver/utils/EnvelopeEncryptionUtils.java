@@ -0,0 +1,112 @@
+package mb.oauth2authorizationserver.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Envelope encryption with AES-GCM.
+ * <p>
+ * Every payload is encrypted with a freshly generated data key, and the data key is then wrapped
+ * with the master key. Only the wrapped data key is stored next to the ciphertext, so rotating the
+ * master key means re-wrapping a 32 byte key instead of re-encrypting the payload.
+ * <p>
+ * Envelope format: {@code v1.<wrapped data key>.<data key iv>.<payload iv>.<payload ciphertext>},
+ * every part Base64 encoded.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EnvelopeEncryptionUtils {
+
+    private static final String VERSION = "v1";
+    private static final String DELIMITER = ".";
+    private static final String AES = "AES";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int KEY_SIZE_BITS = 256;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    public static String encrypt(String plainText, String base64MasterKey) {
+        try {
+            SecretKey masterKey = toMasterKey(base64MasterKey);
+            KeyGenerator keyGenerator = KeyGenerator.getInstance(AES);
+            keyGenerator.init(KEY_SIZE_BITS, SECURE_RANDOM);
+            SecretKey dataKey = keyGenerator.generateKey();
+
+            byte[] dataKeyIv = randomIv();
+            byte[] wrappedDataKey = crypt(Cipher.ENCRYPT_MODE, masterKey, dataKeyIv, dataKey.getEncoded());
+
+            byte[] payloadIv = randomIv();
+            byte[] cipherText = crypt(Cipher.ENCRYPT_MODE, dataKey, payloadIv, plainText.getBytes(StandardCharsets.UTF_8));
+
+            Base64.Encoder encoder = Base64.getEncoder();
+            return String.join(DELIMITER, VERSION, encoder.encodeToString(wrappedDataKey), encoder.encodeToString(dataKeyIv), encoder.encodeToString(payloadIv), encoder.encodeToString(cipherText));
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception _) {
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.CAN_NOT_BE_ENCODED);
+        }
+    }
+
+    public static String decrypt(String envelope, String base64MasterKey) {
+        String[] parts = StringUtils.split(envelope, DELIMITER);
+        if (parts == null || parts.length != 5 || !VERSION.equals(parts[0])) {
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.CAN_NOT_BE_DECODED);
+        }
+
+        try {
+            SecretKey masterKey = toMasterKey(base64MasterKey);
+            Base64.Decoder decoder = Base64.getDecoder();
+
+            byte[] dataKeyBytes = crypt(Cipher.DECRYPT_MODE, masterKey, decoder.decode(parts[2]), decoder.decode(parts[1]));
+            SecretKey dataKey = new SecretKeySpec(dataKeyBytes, AES);
+
+            byte[] plainText = crypt(Cipher.DECRYPT_MODE, dataKey, decoder.decode(parts[3]), decoder.decode(parts[4]));
+            return new String(plainText, StandardCharsets.UTF_8);
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception _) {
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.CAN_NOT_BE_DECODED);
+        }
+    }
+
+    public static String generateMasterKey() {
+        byte[] key = new byte[KEY_SIZE_BITS / 8];
+        SECURE_RANDOM.nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+
+    private static SecretKey toMasterKey(String base64MasterKey) {
+        if (StringUtils.isBlank(base64MasterKey)) {
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.INVALID_VALUE);
+        }
+        byte[] key = Base64.getDecoder().decode(base64MasterKey);
+        if (key.length != KEY_SIZE_BITS / 8) {
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.INVALID_VALUE);
+        }
+        return new SecretKeySpec(key, AES);
+    }
+
+    private static byte[] randomIv() {
+        byte[] iv = new byte[IV_LENGTH];
+        SECURE_RANDOM.nextBytes(iv);
+        return iv;
+    }
+
+    private static byte[] crypt(int mode, SecretKey key, byte[] iv, byte[] input) throws Exception {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        return cipher.doFinal(input);
+    }
+}
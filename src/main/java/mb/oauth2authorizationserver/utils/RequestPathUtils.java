@@ -0,0 +1,35 @@
+package mb.oauth2authorizationserver.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+
+import java.util.Arrays;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestPathUtils {
+
+    private static final String[] FAST_PATH_PREFIXES = Arrays.stream(ServiceConstants.FAST_PATH_PATTERNS)
+            .map(pattern -> pattern.endsWith("/**") ? pattern.substring(0, pattern.length() - 2) : pattern)
+            .toArray(String[]::new);
+
+    /**
+     * Whether the request targets a static resource or an actuator endpoint, which skip the custom filters.
+     */
+    public static boolean isFastPath(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path == null) {
+            return false;
+        }
+        String contextPath = request.getContextPath();
+        int offset = contextPath == null ? 0 : contextPath.length();
+
+        for (String prefix : FAST_PATH_PREFIXES) {
+            if (path.startsWith(prefix, offset)) {
+                return prefix.endsWith("/") || path.length() == offset + prefix.length();
+            }
+        }
+        return false;
+    }
+}
@@ -15,15 +15,21 @@ import org.springframework.security.oauth2.server.authorization.authentication.O
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
@@ -36,6 +42,8 @@ public final class SecurityUtils {
     public static final String ERROR_URI = "https://datatracker.ietf.org/doc/html/rfc6749#section-5.2";
 
     private static final Random RANDOM = new Random();
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final SecretKeySpec PROCESS_HMAC_KEY = new SecretKeySpec(randomBytes(32), HMAC_ALGORITHM);
 
     public static RSAKey loadOrGenerateRsa(String jwtKeyPath) {
         File keyFile = new File(jwtKeyPath);
@@ -87,7 +95,7 @@ public final class SecurityUtils {
         throw new OAuth2AuthenticationException(OAuth2ErrorCodes.INVALID_CLIENT);
     }
 
-    private static RSAKey generateRsa() {
+    public static RSAKey generateRsa() {
         KeyPair keyPair = generateRsaKey();
         RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
         RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
@@ -106,6 +114,32 @@ public final class SecurityUtils {
         return keyPair;
     }
 
+    /**
+     * HMAC-SHA256 of the parts under a key that is generated randomly for this process and never leaves it.
+     * <p>
+     * Meant for node-local map keys that include credentials: the digest cannot be brute-forced offline like a
+     * plain hash, but it also differs between nodes and restarts, so it must not be used for shared keys.
+     */
+    public static String hmac(String... parts) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(PROCESS_HMAC_KEY);
+            for (String part : parts) {
+                mac.update(part.getBytes(StandardCharsets.UTF_8));
+                mac.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new SecureRandom().nextBytes(bytes);
+        return bytes;
+    }
+
     public static String generateRandomHex(int length) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < length / 2; i++) {
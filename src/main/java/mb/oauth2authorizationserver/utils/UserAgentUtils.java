@@ -0,0 +1,31 @@
+package mb.oauth2authorizationserver.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ua_parser.Client;
+import ua_parser.Parser;
+
+import java.util.Objects;
+
+/**
+ * Shared user-agent parser.
+ * <p>
+ * {@link Parser} compiles the whole regexes.yaml on construction, so a single instance is kept for the
+ * application; it is immutable after construction and safe to share between threads. Parsed clients are
+ * cached by raw header value since real traffic only carries a few hundred distinct user agents.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UserAgentUtils {
+
+    private static final int MAX_CACHED_USER_AGENTS = 1_000;
+    private static final Parser PARSER = new Parser();
+    private static final Cache<String, Client> CLIENTS = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_USER_AGENTS)
+            .build();
+
+    public static Client parse(String rawUserAgent) {
+        return CLIENTS.get(Objects.toString(rawUserAgent, ""), PARSER::parse);
+    }
+}
@@ -3,10 +3,26 @@ package mb.oauth2authorizationserver.utils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.owasp.encoder.Encode;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectReadContext;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class XssSanitizerUtils {
 
+    private static final Pattern SCRIPT_TAG = Pattern.compile("<script[^>]*>.*?</script>");
+    private static final Pattern EVENT_HANDLER = Pattern.compile("on\\w+\\s*=");
+    private static final String JAVASCRIPT_PROTOCOL = "javascript:";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     public static String sanitize(String input) {
         if (input == null) {
             return null;
@@ -25,11 +41,50 @@ public final class XssSanitizerUtils {
         if (json == null || json.isEmpty()) {
             return json;
         }
-        return json.replaceAll("<script[^>]*>.*?</script>", "")
-                .replaceAll("on\\w+\\s*=", "")
-                .replaceAll("onerror\\s*=", "")
-                .replaceAll("onclick\\s*=", "")
-                .replaceAll("onload\\s*=", "")
-                .replace("javascript:", "");
+        return stripScriptContent(json);
+    }
+
+    /**
+     * Sanitizes a UTF-8 JSON document in a single pass over its token stream. Only string values are rewritten,
+     * property names, numbers and structure are copied as they are. A body that is not valid JSON falls back to
+     * {@link #sanitizeJson(String)}.
+     */
+    public static byte[] sanitizeJson(byte[] json) {
+        if (json == null || json.length == 0) {
+            return json;
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = JSON_FACTORY.createParser(ObjectReadContext.empty(), json);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(ObjectWriteContext.empty(), output)) {
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                    generator.writeString(stripScriptContent(parser.getString()));
+                } else {
+                    generator.copyCurrentEventExact(parser);
+                }
+            }
+        } catch (JacksonException _) {
+            return sanitizeJson(new String(json, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Each pattern needs a character that most values do not contain, so those values are returned without
+     * running any regex.
+     */
+    private static String stripScriptContent(String value) {
+        String result = value;
+        if (result.indexOf('<') >= 0) {
+            result = SCRIPT_TAG.matcher(result).replaceAll("");
+        }
+        if (result.indexOf('=') >= 0) {
+            result = EVENT_HANDLER.matcher(result).replaceAll("");
+        }
+        if (result.indexOf(':') >= 0) {
+            result = result.replace(JAVASCRIPT_PROTOCOL, "");
+        }
+        return result;
     }
 }
@@ -0,0 +1,7 @@
+create table if not exists oauth2_authorization_server.authorization_consent
+(
+    registered_client_id varchar(255)  not null,
+    principal_name       varchar(255)  not null,
+    authorities          varchar(1000) not null,
+    primary key (registered_client_id, principal_name)
+);
@@ -0,0 +1,19 @@
+-- Full-text indexes for the admin user and client search (full_text_match in UserRepository and ClientRepository).
+-- InnoDB indexes words of at least innodb_ft_min_token_size (3) characters; shorter search words fall back to LIKE.
+alter table oauth2_authorization_server.users
+    drop index if exists idx__users_first_name_fulltext;
+
+alter table oauth2_authorization_server.users
+    add fulltext index idx__users_first_name_fulltext (first_name);
+
+alter table oauth2_authorization_server.users
+    drop index if exists idx__users_last_name_fulltext;
+
+alter table oauth2_authorization_server.users
+    add fulltext index idx__users_last_name_fulltext (last_name);
+
+alter table oauth2_authorization_server.client
+    drop index if exists idx__client_client_id_fulltext;
+
+alter table oauth2_authorization_server.client
+    add fulltext index idx__client_client_id_fulltext (client_id);
@@ -0,0 +1,5 @@
+alter table oauth2_authorization_server.client
+    drop index if exists idx__client_client_id;
+
+alter table oauth2_authorization_server.client
+    add constraint idx__client_client_id unique (client_id);
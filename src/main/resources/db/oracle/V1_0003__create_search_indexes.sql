@@ -0,0 +1,22 @@
+-- Oracle Text equivalent of db/migration/V1_0003__create_search_indexes.sql, for deployments on Oracle.
+-- Not on the Flyway location; run as the schema owner, which needs the CTXAPP role.
+-- The prefix index serves the word% queries built by FullTextQueryBuilder without expanding every term.
+begin
+    ctx_ddl.create_preference('search_wordlist', 'BASIC_WORDLIST');
+    ctx_ddl.set_attribute('search_wordlist', 'PREFIX_INDEX', 'TRUE');
+    ctx_ddl.set_attribute('search_wordlist', 'PREFIX_MIN_LENGTH', '3');
+    ctx_ddl.set_attribute('search_wordlist', 'PREFIX_MAX_LENGTH', '8');
+end;
+/
+
+create index idx__users_first_name_text on users (first_name)
+    indextype is ctxsys.context
+    parameters ('wordlist search_wordlist sync (on commit)');
+
+create index idx__users_last_name_text on users (last_name)
+    indextype is ctxsys.context
+    parameters ('wordlist search_wordlist sync (on commit)');
+
+create index idx__client_client_id_text on client (client_id)
+    indextype is ctxsys.context
+    parameters ('wordlist search_wordlist sync (on commit)');
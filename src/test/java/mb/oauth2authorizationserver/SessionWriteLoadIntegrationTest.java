@@ -0,0 +1,127 @@
+package mb.oauth2authorizationserver;
+
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.RedisTestConfiguration;
+import mb.oauth2authorizationserver.model.enums.GrantType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test for the Redis cost of stateless token requests.
+ * <p>
+ * Fires concurrent client credentials token requests and compares Redis state before and after. Token requests
+ * must not create Spring Sessions, and the write commands issued per request are logged from
+ * {@code INFO commandstats} so the numbers can be compared between builds.
+ */
+@Slf4j
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = RedisTestConfiguration.class)
+@TestPropertySource(properties = {
+        // The burst has to fit every request of the test, which measures Redis writes and not the rate limit
+        "token-endpoint.rate-limit.requests-per-minute=60000",
+        "token-endpoint.rate-limit.burst=1000"
+})
+class SessionWriteLoadIntegrationTest {
+
+    private static final String SESSION_KEY_PATTERN = "sso:session:sessions:*";
+    private static final Set<String> WRITE_COMMANDS = Set.of(
+            "cmdstat_set", "cmdstat_setex", "cmdstat_hset", "cmdstat_hmset", "cmdstat_hdel",
+            "cmdstat_sadd", "cmdstat_srem", "cmdstat_zadd", "cmdstat_zrem",
+            "cmdstat_expire", "cmdstat_pexpire", "cmdstat_expireat", "cmdstat_pexpireat",
+            "cmdstat_del", "cmdstat_unlink", "cmdstat_rename", "cmdstat_eval", "cmdstat_evalsha"
+    );
+    private static final int TOTAL_REQUESTS = 200;
+    private static final int CONCURRENCY = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Test
+    void tokenEndpoint_ShouldNotWriteSessions_WhenRequestsAreStateless() throws Exception {
+        // Arrange
+        long sessionsBefore = countSessionKeys();
+        long writesBefore = countWriteCommands();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < TOTAL_REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    return mockMvc.perform(MockMvcRequestBuilders.post("/oauth2/token")
+                                    .param("grant_type", GrantType.CLIENT_CREDENTIALS.getName())
+                                    .param("scope", "read")
+                                    .header("Authorization", "Basic %s".formatted(Base64.getEncoder().encodeToString("client:secret".getBytes()))))
+                            .andReturn()
+                            .getResponse()
+                            .getStatus();
+                }));
+            }
+            startLatch.countDown();
+
+            for (Future<Integer> future : futures) {
+                assertEquals(200, future.get());
+            }
+        }
+
+        // Assertions
+        long sessionsAfter = countSessionKeys();
+        long writes = countWriteCommands() - writesBefore;
+        log.info("Token load test finished. requests: {}, redisWriteCommands: {}, writesPerRequest: {}, newSessions: {}",
+                TOTAL_REQUESTS, writes, (double) writes / TOTAL_REQUESTS, sessionsAfter - sessionsBefore);
+
+        assertEquals(sessionsBefore, sessionsAfter, "Token requests must not create sessions");
+    }
+
+    private long countSessionKeys() {
+        long count = 0;
+        try (RedisConnection connection = redisConnectionFactory.getConnection();
+             Cursor<byte[]> cursor = connection.keyCommands().scan(ScanOptions.scanOptions().match(SESSION_KEY_PATTERN).count(1000).build())) {
+            while (cursor.hasNext()) {
+                cursor.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long countWriteCommands() {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            Properties commandStats = connection.serverCommands().info("commandstats");
+            long calls = 0;
+            for (String name : commandStats.stringPropertyNames()) {
+                if (WRITE_COMMANDS.contains(name)) {
+                    String stats = commandStats.getProperty(name);
+                    String callsPart = stats.substring(stats.indexOf("calls=") + 6);
+                    calls += Long.parseLong(callsPart.substring(0, callsPart.indexOf(',')));
+                }
+            }
+            return calls;
+        }
+    }
+}
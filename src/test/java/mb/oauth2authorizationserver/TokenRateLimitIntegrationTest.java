@@ -0,0 +1,55 @@
+package mb.oauth2authorizationserver;
+
+import mb.oauth2authorizationserver.config.RedisTestConfiguration;
+import mb.oauth2authorizationserver.model.enums.GrantType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = RedisTestConfiguration.class)
+@TestPropertySource(properties = {
+        "token-endpoint.rate-limit.requests-per-minute=1",
+        "token-endpoint.rate-limit.burst=2"
+})
+class TokenRateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void tokenEndpoint_ShouldReturnTooManyRequestsWithRetryAfter_WhenBurstIsUsedUp() throws Exception {
+        // Arrange
+        mockMvc.perform(tokenRequest()).andExpect(status().isOk());
+        mockMvc.perform(tokenRequest()).andExpect(status().isOk());
+
+        // Act
+        MockHttpServletResponse response = mockMvc.perform(tokenRequest()).andReturn().getResponse();
+
+        // Assertions
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("60", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("\"error\":\"too_many_requests\""));
+    }
+
+    private MockHttpServletRequestBuilder tokenRequest() {
+        return MockMvcRequestBuilders.post("/oauth2/token")
+                .param("grant_type", GrantType.CLIENT_CREDENTIALS.getName())
+                .param("scope", "read")
+                .header(HttpHeaders.AUTHORIZATION, "Basic %s".formatted(Base64.getEncoder().encodeToString("client:secret".getBytes())));
+    }
+}
@@ -0,0 +1,179 @@
+package mb.oauth2authorizationserver;
+
+import jakarta.servlet.Filter;
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.RedisTestConfiguration;
+import mb.oauth2authorizationserver.model.enums.GrantType;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureTestRestTemplate;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test for {@code spring.threads.virtual.enabled}.
+ * <p>
+ * Fires concurrent client credentials token requests over HTTP at the embedded Tomcat, once with the setting off and
+ * once with it on, and checks that every request succeeds on the expected kind of thread. Throughput and p99 are
+ * logged for each mode so the numbers can be compared between builds; they are not asserted against each other
+ * because the two modes run in separate contexts, one after the other, on whatever machine runs the build.
+ */
+@Slf4j
+@AutoConfigureTestRestTemplate
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = {RedisTestConfiguration.class, VirtualThreadRequestLoadIntegrationTest.RequestThreadRecorderConfig.class})
+@TestPropertySource(properties = {
+        // The burst has to fit every request of the test, which measures request threads and not the rate limit
+        "token-endpoint.rate-limit.requests-per-minute=60000",
+        "token-endpoint.rate-limit.burst=1000"
+})
+class VirtualThreadRequestLoadIntegrationTest {
+
+    private static final int TOTAL_REQUESTS = 500;
+    private static final int CONCURRENCY = 50;
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads {
+
+        @Autowired
+        private TestRestTemplate testRestTemplate;
+
+        @Autowired
+        private RequestThreadRecorder requestThreadRecorder;
+
+        @Test
+        void tokenEndpoint_ShouldServeEveryRequestOnPlatformThreads_WhenVirtualThreadsAreDisabled() throws Exception {
+            // Act
+            LoadResult result = runLoad(testRestTemplate, "platform threads");
+
+            // Assertions
+            assertEquals(TOTAL_REQUESTS, result.succeeded());
+            assertEquals(TOTAL_REQUESTS, requestThreadRecorder.platformThreadRequests().get());
+            assertEquals(0, requestThreadRecorder.virtualThreadRequests().get());
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads {
+
+        @Autowired
+        private TestRestTemplate testRestTemplate;
+
+        @Autowired
+        private RequestThreadRecorder requestThreadRecorder;
+
+        @Test
+        void tokenEndpoint_ShouldServeEveryRequestOnVirtualThreads_WhenVirtualThreadsAreEnabled() throws Exception {
+            // Act
+            LoadResult result = runLoad(testRestTemplate, "virtual threads");
+
+            // Assertions
+            assertEquals(TOTAL_REQUESTS, result.succeeded());
+            assertEquals(TOTAL_REQUESTS, requestThreadRecorder.virtualThreadRequests().get());
+            assertEquals(0, requestThreadRecorder.platformThreadRequests().get());
+        }
+    }
+
+    private static LoadResult runLoad(TestRestTemplate testRestTemplate, String mode) throws Exception {
+        HttpEntity<MultiValueMap<String, String>> tokenRequest = tokenRequest();
+        long[] latencies = new long[TOTAL_REQUESTS];
+        int succeeded = 0;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<HttpStatus>> futures = new ArrayList<>();
+            for (int i = 0; i < TOTAL_REQUESTS; i++) {
+                final int request = i;
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    long sentAt = System.nanoTime();
+                    HttpStatus status = HttpStatus.valueOf(testRestTemplate.postForEntity("/oauth2/token", tokenRequest, String.class).getStatusCode().value());
+                    latencies[request] = System.nanoTime() - sentAt;
+                    return status;
+                }));
+            }
+            startLatch.countDown();
+            for (Future<HttpStatus> future : futures) {
+                if (future.get(1, TimeUnit.MINUTES) == HttpStatus.OK) {
+                    succeeded++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(TOTAL_REQUESTS * 0.99) - 1];
+        log.info("Token requests on {}: {} req/s, p99: {} ms", mode,
+                String.format("%,.0f", TOTAL_REQUESTS / (elapsed / 1_000_000_000.0)), TimeUnit.NANOSECONDS.toMillis(p99));
+        return new LoadResult(succeeded);
+    }
+
+    private static HttpEntity<MultiValueMap<String, String>> tokenRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        headers.setBasicAuth("client", "secret");
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", GrantType.CLIENT_CREDENTIALS.getName());
+        form.add("scope", "read");
+        return new HttpEntity<>(form, headers);
+    }
+
+    private record LoadResult(int succeeded) {
+    }
+
+    /**
+     * Counts the requests Tomcat hands to the filter chain by the kind of thread that serves them.
+     */
+    record RequestThreadRecorder(AtomicInteger platformThreadRequests, AtomicInteger virtualThreadRequests) {
+    }
+
+    @TestConfiguration
+    static class RequestThreadRecorderConfig {
+
+        @Bean
+        RequestThreadRecorder requestThreadRecorder() {
+            return new RequestThreadRecorder(new AtomicInteger(), new AtomicInteger());
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> requestThreadRecorderFilter(RequestThreadRecorder requestThreadRecorder) {
+            Filter filter = (request, response, chain) -> {
+                (Thread.currentThread().isVirtual()
+                        ? requestThreadRecorder.virtualThreadRequests()
+                        : requestThreadRecorder.platformThreadRequests()).incrementAndGet();
+                chain.doFilter(request, response);
+            };
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            registration.addUrlPatterns("/oauth2/token");
+            return registration;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package mb.oauth2authorizationserver.api.controller;
 
+import mb.oauth2authorizationserver.api.response.SessionEvictionJobResponse;
 import mb.oauth2authorizationserver.constants.ErrorMessageConstants;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
 import mb.oauth2authorizationserver.data.entity.Authorization;
@@ -8,6 +9,7 @@ import mb.oauth2authorizationserver.data.entity.SecurityUser;
 import mb.oauth2authorizationserver.data.entity.UserLoginAttempt;
 import mb.oauth2authorizationserver.model.enums.AuthorityType;
 import mb.oauth2authorizationserver.model.enums.GrantType;
+import mb.oauth2authorizationserver.model.enums.SessionEvictionStatus;
 import mb.oauth2authorizationserver.model.request.ClientFormData;
 import mb.oauth2authorizationserver.model.request.ClientUpdateFormData;
 import mb.oauth2authorizationserver.model.request.UserFormData;
@@ -23,6 +25,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -31,6 +34,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -448,11 +452,24 @@ class AdminControllerTest {
     }
 
     @Test
-    void evictAllSession_ShouldLogoutAndRedirect_WhenEvictionRequested() {
+    void evictAllSession_ShouldStartJobAndRedirect_WhenEvictionRequested() {
+        SessionEvictionJobResponse job = new SessionEvictionJobResponse(UUID.randomUUID(), SessionEvictionStatus.RUNNING, 0, 0);
+        when(adminService.evictAllSessions()).thenReturn(job);
+
         String result = adminController.evictAllSession(redirectAttrs);
 
-        verify(adminService).evictAllSessions();
-        verify(redirectAttrs).addFlashAttribute(ServiceConstants.MESSAGE, ErrorMessageConstants.SESSION_EVICTED);
+        verify(redirectAttrs).addFlashAttribute(ServiceConstants.MESSAGE, ErrorMessageConstants.SESSION_EVICTION_STARTED);
+        verify(redirectAttrs).addFlashAttribute("evictionJobId", job.jobId());
         assertEquals("redirect:/admin/sessions", result);
     }
+
+    @Test
+    void getSessionEvictionJob_ShouldReturnNotFound_WhenJobDoesNotExist() {
+        UUID jobId = UUID.randomUUID();
+        when(adminService.findSessionEvictionJob(jobId)).thenReturn(Optional.empty());
+
+        ResponseEntity<SessionEvictionJobResponse> result = adminController.getSessionEvictionJob(jobId);
+
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
 }
@@ -0,0 +1,50 @@
+package mb.oauth2authorizationserver.api.controller;
+
+import mb.oauth2authorizationserver.service.OracleToolsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OracleToolsControllerTest {
+
+    private static final String MIGRATION_REQUEST = """
+            {
+              "source": {"jdbcUrl": "jdbc:postgresql://localhost:5432/db", "username": "user", "password": "password", "schema": "public"},
+              "destination": {"jdbcUrl": "jdbc:oracle:thin:@//localhost:1521/ORCL", "username": "user", "password": "password", "schema": "APP"}
+            }
+            """;
+
+    @Mock
+    private OracleToolsService oracleToolsService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new OracleToolsController(oracleToolsService)).build();
+    }
+
+    @Test
+    void startMigration_ShouldReturnConflict_WhenMigrationExecutorIsFull() throws Exception {
+        // Arrange
+        doThrow(new TaskRejectedException("migration executor is full")).when(oracleToolsService).migrate(any());
+
+        // Act & Assertions
+        mockMvc.perform(post("/api/oracle-tools/migrate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MIGRATION_REQUEST))
+                .andExpect(status().isConflict());
+    }
+}
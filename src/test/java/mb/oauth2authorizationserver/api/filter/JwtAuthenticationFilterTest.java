@@ -3,12 +3,12 @@ package mb.oauth2authorizationserver.api.filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,22 +19,26 @@ import tools.jackson.databind.ObjectMapper;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class JwtAuthenticationFilterTest {
 
-    @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    private VerifiedJwtCache verifiedJwtCache;
+
     @Mock
     private HttpServletRequest request;
 
@@ -52,6 +56,8 @@ class JwtAuthenticationFilterTest {
 
     @BeforeEach
     void setUp() {
+        verifiedJwtCache = new VerifiedJwtCache(100, Duration.ofHours(1));
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(objectMapper, jwtDecoder, verifiedJwtCache);
         SecurityContextHolder.clearContext();
     }
 
@@ -77,6 +83,53 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void doFilter_ShouldDecodeTokenOnce_WhenSameTokenIsReplayed() throws Exception {
+        // Arrange
+        String token = "Bearer validToken";
+        Jwt jwt = createMockJwt(List.of("ROLE_USER"));
+
+        when(request.getHeader(ServiceConstants.AUTHORIZATION_HEADER_STRING)).thenReturn(token);
+        when(jwtDecoder.decode("validToken")).thenReturn(jwt);
+
+        // Act
+        jwtAuthenticationFilter.doFilter(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(jwtDecoder, times(1)).decode("validToken");
+        verify(filterChain, times(2)).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_ShouldReturnUnauthorized_WhenCachedTokenIsRevoked() throws Exception {
+        // Arrange
+        String token = "Bearer validToken";
+        Jwt jwt = createMockJwt(List.of("ROLE_USER"));
+        StringWriter stringWriter = new StringWriter();
+
+        when(request.getHeader(ServiceConstants.AUTHORIZATION_HEADER_STRING)).thenReturn(token);
+        when(jwtDecoder.decode("validToken")).thenReturn(jwt);
+        when(response.getWriter()).thenReturn(new PrintWriter(stringWriter));
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_UNAUTHORIZED);
+        when(objectMapper.createObjectNode()).thenReturn(new ObjectMapper().createObjectNode());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{\"success\":false,\"message\":\"Invalid token\"}");
+
+        jwtAuthenticationFilter.doFilter(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        verifiedJwtCache.revoke("validToken");
+
+        // Act
+        jwtAuthenticationFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
     @Test
     void doFilter_ShouldNotSetAuthentication_WhenNoTokenProvided() throws Exception {
         // Arrange
@@ -129,7 +182,7 @@ class JwtAuthenticationFilterTest {
         when(response.getWriter()).thenReturn(printWriter);
         when(response.getStatus()).thenReturn(HttpServletResponse.SC_UNAUTHORIZED);
         when(objectMapper.createObjectNode()).thenReturn(new ObjectMapper().createObjectNode());
-        when(objectMapper.writerWithDefaultPrettyPrinter()).thenReturn(new ObjectMapper().writerWithDefaultPrettyPrinter());
+        when(objectMapper.writeValueAsString(any())).thenReturn("{\"success\":false,\"message\":\"Invalid token\"}");
 
         // Act
         jwtAuthenticationFilter.doFilter(request, response, filterChain);
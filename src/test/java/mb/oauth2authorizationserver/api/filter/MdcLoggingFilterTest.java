@@ -13,7 +13,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.MDC;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,8 +48,9 @@ class MdcLoggingFilterTest {
     @Test
     void doFilter_ShouldSetMdcUsername_WhenUsernameHeaderExists() throws Exception {
         // Arrange
+        when(request.getHeader(anyString())).thenReturn(null);
         when(request.getHeader(ServiceConstants.USERNAME)).thenReturn("testUser");
-        when(request.getSession()).thenReturn(session);
+        when(request.getSession(false)).thenReturn(session);
         when(session.getId()).thenReturn("sessionId123");
 
         // Act
@@ -58,9 +64,10 @@ class MdcLoggingFilterTest {
     @Test
     void doFilter_ShouldSetMdcUsername_WhenUserNameUnderscoreHeaderExists() throws Exception {
         // Arrange
+        when(request.getHeader(anyString())).thenReturn(null);
         when(request.getHeader(ServiceConstants.USERNAME)).thenReturn(null);
         when(request.getHeader(ServiceConstants.USERNAME_WITH_UNDERSCORE)).thenReturn("testUser");
-        when(request.getSession()).thenReturn(session);
+        when(request.getSession(false)).thenReturn(session);
         when(session.getId()).thenReturn("sessionId123");
 
         // Act
@@ -74,9 +81,10 @@ class MdcLoggingFilterTest {
     @Test
     void doFilter_ShouldNotSetMdcUsername_WhenNoUsernameHeadersExist() throws Exception {
         // Arrange
+        when(request.getHeader(anyString())).thenReturn(null);
         when(request.getHeader(ServiceConstants.USERNAME)).thenReturn(null);
         when(request.getHeader(ServiceConstants.USERNAME_WITH_UNDERSCORE)).thenReturn(null);
-        when(request.getSession()).thenReturn(session);
+        when(request.getSession(false)).thenReturn(session);
         when(session.getId()).thenReturn("sessionId123");
 
         // Act
@@ -91,7 +99,7 @@ class MdcLoggingFilterTest {
     void doFilter_ShouldSetSessionId_WhenSessionExists() throws Exception {
         // Arrange
         String expectedSessionId = "testSessionId";
-        when(request.getSession()).thenReturn(session);
+        when(request.getSession(false)).thenReturn(session);
         when(session.getId()).thenReturn(expectedSessionId);
 
         // Act
@@ -102,4 +110,69 @@ class MdcLoggingFilterTest {
         verify(filterChain).doFilter(request, response);
         verify(session).getId();
     }
+
+    @Test
+    void doFilter_ShouldNotCreateSession_WhenNoSessionExists() throws Exception {
+        // Arrange
+        when(request.getSession(false)).thenReturn(null);
+
+        // Act
+        mdcLoggingFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        verify(request, never()).getSession();
+        verify(request, never()).getSession(true);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_ShouldPropagateRequestIdAndTraceId_WhenHeadersArePresent() throws Exception {
+        // Arrange
+        String[] loggedIds = new String[2];
+        when(request.getHeader(anyString())).thenReturn(null);
+        when(request.getHeader(ServiceConstants.REQUEST_ID_HEADER)).thenReturn("req-42");
+        when(request.getHeader(ServiceConstants.TRACEPARENT_HEADER)).thenReturn("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        doAnswer(_ -> {
+            loggedIds[0] = MDC.get(ServiceConstants.REQUEST_ID);
+            loggedIds[1] = MDC.get(ServiceConstants.TRACE_ID);
+            return null;
+        }).when(filterChain).doFilter(request, response);
+
+        // Act
+        mdcLoggingFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        assertEquals("req-42", loggedIds[0]);
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", loggedIds[1]);
+        assertNull(MDC.get(ServiceConstants.REQUEST_ID));
+        assertNull(MDC.get(ServiceConstants.TRACE_ID));
+        verify(response).setHeader(ServiceConstants.REQUEST_ID_HEADER, "req-42");
+    }
+
+    @Test
+    void doFilter_ShouldGenerateRequestId_WhenHeaderIsInvalid() throws Exception {
+        // Arrange
+        when(request.getHeader(anyString())).thenReturn(null);
+        when(request.getHeader(ServiceConstants.REQUEST_ID_HEADER)).thenReturn("bad id\nINFO forged log line");
+
+        // Act
+        mdcLoggingFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        verify(response, never()).setHeader(ServiceConstants.REQUEST_ID_HEADER, "bad id\nINFO forged log line");
+        verify(response).setHeader(eq(ServiceConstants.REQUEST_ID_HEADER), anyString());
+    }
+
+    @Test
+    void doFilter_ShouldKeepTracerTraceId_WhenTraceIdAlreadyInMdc() throws Exception {
+        // Arrange
+        MDC.put(ServiceConstants.TRACE_ID, "tracer-owned");
+
+        // Act
+        mdcLoggingFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        assertEquals("tracer-owned", MDC.get(ServiceConstants.TRACE_ID));
+        verify(filterChain).doFilter(request, response);
+    }
 }
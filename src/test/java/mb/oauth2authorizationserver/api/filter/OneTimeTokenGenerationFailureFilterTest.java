@@ -0,0 +1,71 @@
+package mb.oauth2authorizationserver.api.filter;
+
+import jakarta.servlet.FilterChain;
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OneTimeTokenGenerationFailureFilterTest {
+
+    private static final String GENERATE_URL = "/ott/generate";
+
+    private final OneTimeTokenGenerationFailureFilter oneTimeTokenGenerationFailureFilter = new OneTimeTokenGenerationFailureFilter(GENERATE_URL, Duration.ofMinutes(5));
+
+    @Test
+    void doFilter_ShouldReturnServiceUnavailableWithRetryAfter_WhenStoreIsFull() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain refusingChain = (_, _) -> {
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_STORE_FULL);
+        };
+
+        // Act
+        oneTimeTokenGenerationFailureFilter.doFilter(new MockHttpServletRequest("POST", GENERATE_URL), response, refusingChain);
+
+        // Assertions
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals("300", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void doFilter_ShouldReturnTooManyRequests_WhenSourceIsOverItsLimit() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain refusingChain = (_, _) -> {
+            throw new BaseException(OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_SOURCE_LIMIT);
+        };
+
+        // Act
+        oneTimeTokenGenerationFailureFilter.doFilter(new MockHttpServletRequest("POST", GENERATE_URL), response, refusingChain);
+
+        // Assertions
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldRethrow_WhenErrorIsNotAboutOneTimeTokens() {
+        // Arrange
+        BaseException unexpected = new BaseException(OAuth2AuthorizationServerServiceErrorCode.UNEXPECTED_ERROR);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", GENERATE_URL);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain failingChain = (_, _) -> {
+            throw unexpected;
+        };
+
+        // Act
+        BaseException exception = assertThrows(BaseException.class, () -> oneTimeTokenGenerationFailureFilter.doFilter(request, response, failingChain));
+
+        // Assertions
+        assertSame(unexpected, exception);
+    }
+}
@@ -0,0 +1,102 @@
+package mb.oauth2authorizationserver.api.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.session.SessionRegistry;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SessionRegistryFilterTest {
+
+    @Mock
+    private SessionRegistry sessionRegistry;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SessionRegistryFilter sessionRegistryFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sessionRegistryFilter = new SessionRegistryFilter(sessionRegistry, meterRegistry, Duration.ofMinutes(5));
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("user", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldConsultRegistryOnce_WhenSameSessionSendsSeveralRequests() throws Exception {
+        // Arrange
+        MockHttpSession session = new MockHttpSession(null, "session-1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/dashboard");
+        request.setSession(session);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            sessionRegistryFilter.doFilter(request, response, filterChain);
+        }
+
+        // Assertions
+        verify(sessionRegistry, times(1)).registerNewSession("session-1", "user");
+        assertEquals(1.0, meterRegistry.get("session.registry.filter").tag("result", "registered").counter().count());
+        assertEquals(2.0, meterRegistry.get("session.registry.filter").tag("result", "marker").counter().count());
+        verify(filterChain, times(3)).doFilter(request, response);
+    }
+
+    @Test
+    void doFilter_ShouldRegisterAgain_WhenMarkerIsOlderThanTtl() throws Exception {
+        // Arrange
+        MockHttpSession session = new MockHttpSession(null, "session-1");
+        session.setAttribute(SessionRegistryFilter.REGISTERED_MARKER, System.currentTimeMillis() - Duration.ofMinutes(6).toMillis());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/dashboard");
+        request.setSession(session);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        sessionRegistryFilter.doFilter(request, response, filterChain);
+        sessionRegistryFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        verify(sessionRegistry, times(1)).registerNewSession("session-1", "user");
+        assertEquals(1.0, meterRegistry.get("session.registry.filter").tag("result", "marker").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldSkipRegistry_WhenRequestHasNoSession() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        sessionRegistryFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        verifyNoInteractions(sessionRegistry);
+        verify(filterChain).doFilter(request, response);
+    }
+}
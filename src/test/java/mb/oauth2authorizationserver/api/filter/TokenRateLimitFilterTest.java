@@ -0,0 +1,89 @@
+package mb.oauth2authorizationserver.api.filter;
+
+import jakarta.servlet.FilterChain;
+import mb.oauth2authorizationserver.config.security.TokenRateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRateLimitFilterTest {
+
+    private static final String TOKEN_ENDPOINT = "/oauth2/token";
+
+    @Mock
+    private TokenRateLimiter tokenRateLimiter;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private TokenRateLimitFilter tokenRateLimitFilter;
+    private RegisteredClient registeredClient;
+
+    @BeforeEach
+    void setUp() {
+        tokenRateLimitFilter = new TokenRateLimitFilter(tokenRateLimiter, TOKEN_ENDPOINT);
+        registeredClient = RegisteredClient.withId("client-id")
+                .clientId("client")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new OAuth2ClientAuthenticationToken(registeredClient, ClientAuthenticationMethod.CLIENT_SECRET_BASIC, "secret"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldReturnTooManyRequests_WhenClientIsThrottled() throws Exception {
+        // Arrange
+        when(tokenRateLimiter.acquire(registeredClient)).thenReturn(Optional.of(Duration.ofMillis(1500)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        tokenRateLimitFilter.doFilter(new MockHttpServletRequest("POST", TOKEN_ENDPOINT), response, filterChain);
+
+        // Assertions
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("too_many_requests"));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilter_ShouldContinueChain_WhenClientIsWithinLimit() throws Exception {
+        // Arrange
+        when(tokenRateLimiter.acquire(registeredClient)).thenReturn(Optional.empty());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", TOKEN_ENDPOINT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        tokenRateLimitFilter.doFilter(request, response, filterChain);
+
+        // Assertions
+        assertEquals(200, response.getStatus());
+        verify(filterChain).doFilter(request, response);
+    }
+}
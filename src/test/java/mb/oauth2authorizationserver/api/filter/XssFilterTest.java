@@ -0,0 +1,142 @@
+package mb.oauth2authorizationserver.api.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import mb.oauth2authorizationserver.config.XssProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class XssFilterTest {
+
+    private static final String OVERSIZED_BODY = "{\"name\":\"" + "a".repeat(64) + "\"}";
+
+    private XssFilter xssFilter;
+
+    @BeforeEach
+    void setUp() {
+        XssProperties xssProperties = new XssProperties();
+        xssProperties.setMaxBodySize(DataSize.ofBytes(32));
+        xssFilter = new XssFilter(xssProperties);
+    }
+
+    @Test
+    void doFilter_ShouldReturnContentTooLarge_WhenDeclaredContentLengthExceedsLimit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = jsonRequest("/api/users", OVERSIZED_BODY);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+
+        // Act
+        xssFilter.doFilter(request, response, (req, _) -> forwarded.set(req));
+
+        // Assertions
+        assertEquals(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, response.getStatus());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void doFilter_ShouldReturnContentTooLarge_WhenChunkedBodyExceedsLimit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(OVERSIZED_BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain readingChain = (req, _) -> req.getInputStream().readAllBytes();
+
+        // Act
+        xssFilter.doFilter(request, response, readingChain);
+
+        // Assertions
+        assertEquals(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldPassRequestUnwrapped_WhenPathIsFastPath() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = jsonRequest("/actuator/health", OVERSIZED_BODY);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+
+        // Act
+        xssFilter.doFilter(request, response, (req, _) -> forwarded.set(req));
+
+        // Assertions
+        assertSame(request, forwarded.get());
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldNotLimitBody_WhenContentTypeIsNotSanitized() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/upload");
+        request.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        request.setContent(OVERSIZED_BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+
+        // Act
+        xssFilter.doFilter(request, response, (req, _) -> body.set(req.getInputStream().readAllBytes()));
+
+        // Assertions
+        assertEquals(OVERSIZED_BODY, new String(body.get(), StandardCharsets.UTF_8));
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldWrapRequest_WhenBodyIsWithinLimit() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = jsonRequest("/api/users", "{\"name\":\"<b>x</b>\"}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServletRequest> forwarded = new AtomicReference<>();
+
+        // Act
+        xssFilter.doFilter(request, response, (req, _) -> forwarded.set(req));
+
+        // Assertions
+        assertInstanceOf(XssRequestWrapper.class, forwarded.get());
+        assertFalse(response.isCommitted());
+    }
+
+    @Test
+    void doFilter_ShouldSanitizeBody_WhenContentTypeIsText() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/notes");
+        request.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        request.setContent("<script>alert(1)</script>".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<byte[]> body = new AtomicReference<>();
+
+        // Act
+        xssFilter.doFilter(request, response, (req, _) -> body.set(req.getInputStream().readAllBytes()));
+
+        // Assertions
+        assertFalse(new String(body.get(), StandardCharsets.UTF_8).contains("<script>"));
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    }
+
+    private static MockHttpServletRequest jsonRequest(String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,94 @@
+package mb.oauth2authorizationserver.api.filter;
+
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class XssRequestWrapperTest {
+
+    private static final long MAX_BODY_SIZE = 1024;
+
+    @Test
+    void getParameter_ShouldReturnEncodedValue_WhenParameterContainsMarkup() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("name", "<b>John</b>");
+        XssRequestWrapper wrapper = new XssRequestWrapper(request, false, MAX_BODY_SIZE);
+
+        // Act
+        String first = wrapper.getParameter("name");
+        String second = wrapper.getParameter("name");
+
+        // Assertions
+        assertEquals("&lt;b&gt;John&lt;/b&gt;", first);
+        assertEquals(first, second);
+        assertEquals("<b>John</b>", request.getParameter("name"));
+    }
+
+    @Test
+    void getParameterValues_ShouldNotEncodeTwice_WhenCalledRepeatedly() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("scope", "read&write", "profile");
+        XssRequestWrapper wrapper = new XssRequestWrapper(request, false, MAX_BODY_SIZE);
+
+        // Act
+        wrapper.getParameterValues("scope");
+        String[] values = wrapper.getParameterValues("scope");
+
+        // Assertions
+        assertArrayEquals(new String[]{"read&amp;write", "profile"}, values);
+    }
+
+    @Test
+    void getParameter_ShouldReturnRawValue_WhenParameterIsLoginCredential() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter(ServiceConstants.USERNAME, "o'brien&co");
+        request.addParameter(ServiceConstants.PASSWORD, "p<a>ss&\"word");
+        XssRequestWrapper wrapper = new XssRequestWrapper(request, false, MAX_BODY_SIZE);
+
+        // Act
+        String username = wrapper.getParameter(ServiceConstants.USERNAME);
+        String password = wrapper.getParameter(ServiceConstants.PASSWORD);
+
+        // Assertions
+        assertEquals("o'brien&co", username);
+        assertEquals("p<a>ss&\"word", password);
+    }
+
+    @Test
+    void getParameter_ShouldReturnRawValue_WhenParameterIsOAuthProtocolParameter() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter(OAuth2ParameterNames.CLIENT_SECRET, "s3cr<t&\"");
+        request.addParameter(OAuth2ParameterNames.REDIRECT_URI, "https://client.example.com/cb?a=1&b=2");
+        XssRequestWrapper wrapper = new XssRequestWrapper(request, false, MAX_BODY_SIZE);
+
+        // Act & Assertions
+        assertEquals("s3cr<t&\"", wrapper.getParameter(OAuth2ParameterNames.CLIENT_SECRET));
+        assertEquals("https://client.example.com/cb?a=1&b=2", wrapper.getParameter(OAuth2ParameterNames.REDIRECT_URI));
+        assertNull(wrapper.getParameter("missing"));
+    }
+
+    @Test
+    void getInputStream_ShouldReturnSanitizedJson_WhenBodySanitizationIsEnabled() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("{\"name\":\"<script>alert(1)</script>John\"}".getBytes(StandardCharsets.UTF_8));
+        XssRequestWrapper wrapper = new XssRequestWrapper(request, true, MAX_BODY_SIZE);
+
+        // Act
+        String body = new String(wrapper.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        // Assertions
+        assertEquals("{\"name\":\"John\"}", body);
+    }
+}
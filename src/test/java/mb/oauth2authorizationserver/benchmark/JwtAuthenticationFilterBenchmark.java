@@ -0,0 +1,120 @@
+package mb.oauth2authorizationserver.benchmark;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import jakarta.servlet.FilterChain;
+import mb.oauth2authorizationserver.api.filter.JwtAuthenticationFilter;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import mb.oauth2authorizationserver.utils.SecurityUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of authenticating one request through {@link JwtAuthenticationFilter}.
+ * <p>
+ * {@code baseline} replays the original implementation (substring, full decode, stream mapping and a new details
+ * source per request), {@code filter} runs the current filter with the verified token cache and interned authorities.
+ * Run {@link #main(String[])} from the IDE; the GC profiler reports bytes/op as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (_, _) -> {
+    };
+
+    private JwtDecoder jwtDecoder;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        RSAKey rsaKey = SecurityUtils.generateRsa();
+        jwtDecoder = NimbusJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(new ObjectMapper(), jwtDecoder, new VerifiedJwtCache(10_000, Duration.ofHours(1)));
+
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("benchmark-user")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .claim("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .build();
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).keyId(rsaKey.getKeyID()).build();
+        String token = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)))
+                .encode(JwtEncoderParameters.from(header, claims))
+                .getTokenValue();
+
+        request = new MockHttpServletRequest();
+        request.addHeader(ServiceConstants.AUTHORIZATION_HEADER_STRING, ServiceConstants.TOKEN_PREFIX + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void baseline(Blackhole blackhole) {
+        String token = request.getHeader(ServiceConstants.AUTHORIZATION_HEADER_STRING).substring(7);
+        Jwt jwt = jwtDecoder.decode(token);
+        List<SimpleGrantedAuthority> authorities = jwt.getClaimAsStringList("roles")
+                .stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+
+        JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwt, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        blackhole.consume(authentication);
+    }
+
+    @Benchmark
+    public void filter(Blackhole blackhole) throws Exception {
+        jwtAuthenticationFilter.doFilter(request, response, NO_OP_CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,117 @@
+package mb.oauth2authorizationserver.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import mb.oauth2authorizationserver.config.CompactSessionRedisSerializer;
+import mb.oauth2authorizationserver.config.security.model.HttpRequestDetails;
+import mb.oauth2authorizationserver.data.entity.Authority;
+import mb.oauth2authorizationserver.data.entity.SecurityUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JDK serialization with {@link CompactSessionRedisSerializer} for the security context of a signed-in user,
+ * which is the largest attribute of every session.
+ * <p>
+ * Run {@link #main(String[])} from the IDE; the stored size of both formats is logged before the run, and the GC
+ * profiler reports bytes allocated per operation as {@code gc.alloc.rate.norm}.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionSerializerBenchmark {
+
+    private RedisSerializer<Object> jdkSerializer;
+    private CompactSessionRedisSerializer compactSerializer;
+    private SecurityContextImpl securityContext;
+    private byte[] jdkBytes;
+    private byte[] compactBytes;
+
+    @Setup
+    public void setUp() {
+        ClassLoader classLoader = SessionSerializerBenchmark.class.getClassLoader();
+        jdkSerializer = RedisSerializer.java(classLoader);
+        compactSerializer = new CompactSessionRedisSerializer(classLoader, true);
+        securityContext = securityContext();
+        jdkBytes = jdkSerializer.serialize(securityContext);
+        compactBytes = compactSerializer.serialize(securityContext);
+    }
+
+    @Benchmark
+    public byte[] jdkSerialize() {
+        return jdkSerializer.serialize(securityContext);
+    }
+
+    @Benchmark
+    public byte[] compactSerialize() {
+        return compactSerializer.serialize(securityContext);
+    }
+
+    @Benchmark
+    public Object jdkDeserialize() {
+        return jdkSerializer.deserialize(jdkBytes);
+    }
+
+    @Benchmark
+    public Object compactDeserialize() {
+        return compactSerializer.deserialize(compactBytes);
+    }
+
+    static SecurityContextImpl securityContext() {
+        SecurityUser user = SecurityUser.builder()
+                .id(1L)
+                .username("benchmark-user")
+                .firstName("Benchmark")
+                .lastName("User")
+                .email("benchmark-user@example.com")
+                .phoneNumber("5550000000")
+                .authorities(Set.of(
+                        Authority.builder().id(1L).authority("ROLE_USER").defaultAuthority(true).build(),
+                        Authority.builder().id(2L).authority("ROLE_ADMIN").build()))
+                .build();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.addHeader("user-agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36");
+        request.addHeader("accept-language", "en-US,en;q=0.9");
+        request.addHeader("host", "localhost:9000");
+        request.addHeader("referer", "http://localhost:9000/login");
+
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        authentication.setDetails(new HttpRequestDetails(request));
+        return new SecurityContextImpl(authentication);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        SessionSerializerBenchmark sizes = new SessionSerializerBenchmark();
+        sizes.setUp();
+        log.info("Stored security context size. jdk: {} bytes, compact: {} bytes", sizes.jdkBytes.length, sizes.compactBytes.length);
+
+        new Runner(new OptionsBuilder()
+                .include(SessionSerializerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,138 @@
+package mb.oauth2authorizationserver.benchmark;
+
+import mb.oauth2authorizationserver.config.jpa.FullTextQueryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.mariadb.MariaDBContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the admin user search on 1M users in MariaDB: the substring {@code LIKE '%x%'} query that used to back
+ * {@code /admin/users} ({@code like}) and the {@code MATCH ... AGAINST} query on the {@code FULLTEXT} indexes from
+ * {@code V1_0003__create_search_indexes.sql} ({@code fullText}). Each invocation runs the page query and its count
+ * query, as a paged search does. Needs Docker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserSearchBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth", "Mehmet", "Ayse", "Mustafa", "Fatma", "Ahmet", "Emine"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Aydin", "Ozturk"};
+    private static final String FIRST_NAME = "mehm";
+    private static final String LAST_NAME = "yild";
+
+    private MariaDBContainer mariaDb;
+    private Connection connection;
+    private String firstNameQuery;
+    private String lastNameQuery;
+
+    @Setup
+    public void setUp() throws SQLException {
+        mariaDb = new MariaDBContainer("mariadb:12.1.2");
+        mariaDb.start();
+        connection = DriverManager.getConnection(mariaDb.getJdbcUrl(), mariaDb.getUsername(), mariaDb.getPassword());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create table users
+                    (
+                        id         bigint auto_increment primary key,
+                        first_name varchar(255) not null,
+                        last_name  varchar(255) not null,
+                        enabled    bit          not null
+                    )""");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("insert into users (first_name, last_name, enabled) values (?, ?, ?)")) {
+            for (int i = 0; i < USERS; i++) {
+                // The row number keeps names distinct, as real names are, while the common prefix stays searchable.
+                insert.setString(1, FIRST_NAMES[i % FIRST_NAMES.length] + " " + FIRST_NAMES[(i / FIRST_NAMES.length) % FIRST_NAMES.length] + i);
+                insert.setString(2, LAST_NAMES[(i / 7) % LAST_NAMES.length]);
+                insert.setBoolean(3, i % 10 != 0);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create fulltext index idx__users_first_name_fulltext on users (first_name)");
+            statement.execute("create fulltext index idx__users_last_name_fulltext on users (last_name)");
+            statement.execute("analyze table users");
+        }
+
+        FullTextQueryBuilder fullTextQueryBuilder = new FullTextQueryBuilder(mariaDb.getJdbcUrl());
+        firstNameQuery = fullTextQueryBuilder.prefixQuery(FIRST_NAME);
+        lastNameQuery = fullTextQueryBuilder.prefixQuery(LAST_NAME);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        mariaDb.stop();
+    }
+
+    @Benchmark
+    public long like() throws SQLException {
+        return search("first_name like ? and last_name like ?", "%" + FIRST_NAME + "%", "%" + LAST_NAME + "%");
+    }
+
+    @Benchmark
+    public long fullText() throws SQLException {
+        return search("match(first_name) against(? in boolean mode) > 0 and match(last_name) against(? in boolean mode) > 0", firstNameQuery, lastNameQuery);
+    }
+
+    private long search(String condition, String firstName, String lastName) throws SQLException {
+        long checksum = 0;
+        for (String sql : new String[]{
+                "select id from users where " + condition + " and enabled = true order by first_name limit 20",
+                "select count(*) from users where " + condition + " and enabled = true"}) {
+            try (PreparedStatement query = connection.prepareStatement(sql)) {
+                query.setString(1, firstName);
+                query.setString(2, lastName);
+                try (ResultSet resultSet = query.executeQuery()) {
+                    while (resultSet.next()) {
+                        checksum += resultSet.getLong(1);
+                    }
+                }
+            }
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserSearchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
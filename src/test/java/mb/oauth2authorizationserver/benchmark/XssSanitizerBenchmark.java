@@ -0,0 +1,78 @@
+package mb.oauth2authorizationserver.benchmark;
+
+import mb.oauth2authorizationserver.utils.XssSanitizerUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the regex based body sanitization that used to run on every request ({@code regex}) with the
+ * streaming token based one ({@code streaming}) for 1KB, 100KB and 10MB JSON bodies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XssSanitizerBenchmark {
+
+    private static final String ROW = "{\"id\":12345,\"name\":\"John Doe\",\"email\":\"john.doe@example.com\",\"score\":98.5,\"active\":true,\"note\":\"plain text without markup\"}";
+
+    @Param({"1024", "102400", "10485760"})
+    private int bodySize;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder(bodySize + ROW.length()).append('[');
+        while (json.length() < bodySize) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(ROW);
+        }
+        body = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] regex() {
+        String json = new String(body, StandardCharsets.UTF_8);
+        return json.replaceAll("<script[^>]*>.*?</script>", "")
+                .replaceAll("on\\w+\\s*=", "")
+                .replaceAll("onerror\\s*=", "")
+                .replaceAll("onclick\\s*=", "")
+                .replaceAll("onload\\s*=", "")
+                .replace("javascript:", "")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] streaming() {
+        return XssSanitizerUtils.sanitizeJson(body);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(XssSanitizerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
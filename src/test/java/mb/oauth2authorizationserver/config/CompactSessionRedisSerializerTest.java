@@ -0,0 +1,104 @@
+package mb.oauth2authorizationserver.config;
+
+import mb.oauth2authorizationserver.config.security.model.HttpRequestDetails;
+import mb.oauth2authorizationserver.data.entity.Authority;
+import mb.oauth2authorizationserver.data.entity.SecurityUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactSessionRedisSerializerTest {
+
+    private final CompactSessionRedisSerializer jsonSerializer = new CompactSessionRedisSerializer(getClass().getClassLoader(), true);
+    private final RedisSerializer<Object> jdkSerializer = RedisSerializer.java(getClass().getClassLoader());
+
+    @Test
+    void serialize_ShouldRoundTripSecurityContextAsSmallerJson_WhenPrincipalIsSecurityUser() {
+        // Arrange
+        SecurityContextImpl securityContext = securityContext();
+
+        // Act
+        byte[] json = jsonSerializer.serialize(securityContext);
+        Object restored = jsonSerializer.deserialize(json);
+
+        // Assertions
+        assertEquals('{', json[0]);
+        assertTrue(json.length < jdkSerializer.serialize(securityContext).length);
+        SecurityContextImpl restoredContext = assertInstanceOf(SecurityContextImpl.class, restored);
+        SecurityUser principal = assertInstanceOf(SecurityUser.class, restoredContext.getAuthentication().getPrincipal());
+        assertEquals("user", principal.getUsername());
+        assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority());
+        assertInstanceOf(HttpRequestDetails.class, restoredContext.getAuthentication().getDetails());
+        assertEquals(securityContext.getAuthentication().getAuthorities(), restoredContext.getAuthentication().getAuthorities());
+    }
+
+    @Test
+    void deserialize_ShouldReadJdkSerializedValue_WhenSessionWasWrittenBeforeSwitch() {
+        // Arrange
+        byte[] legacy = jdkSerializer.serialize(securityContext());
+
+        // Act
+        Object restored = jsonSerializer.deserialize(legacy);
+
+        // Assertions
+        SecurityContextImpl restoredContext = assertInstanceOf(SecurityContextImpl.class, restored);
+        assertEquals("user", restoredContext.getAuthentication().getName());
+    }
+
+    @Test
+    void serialize_ShouldFallBackToJdkSerialization_WhenTypeIsNotJsonCompatible() {
+        // Arrange
+        Instant value = Instant.parse("2026-01-01T00:00:00Z");
+
+        // Act
+        byte[] bytes = jsonSerializer.serialize(value);
+
+        // Assertions
+        assertArrayEquals(jdkSerializer.serialize(value), bytes);
+        assertEquals(value, jsonSerializer.deserialize(bytes));
+    }
+
+    @Test
+    void serialize_ShouldWriteJdkSerialization_WhenJsonIsDisabled() {
+        // Arrange
+        CompactSessionRedisSerializer jdkWritingSerializer = new CompactSessionRedisSerializer(getClass().getClassLoader(), false);
+
+        // Act
+        byte[] bytes = jdkWritingSerializer.serialize("value");
+
+        // Assertions
+        assertArrayEquals(jdkSerializer.serialize("value"), bytes);
+        assertEquals("value", jdkWritingSerializer.deserialize("\"value\"".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static SecurityContextImpl securityContext() {
+        Authority authority = Authority.builder().id(1L).authority("ROLE_USER").build();
+        SecurityUser user = SecurityUser.builder()
+                .id(1L)
+                .username("user")
+                .firstName("First")
+                .lastName("Last")
+                .email("user@example.com")
+                .phoneNumber("5550000000")
+                .authorities(Set.of(authority))
+                .build();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.addHeader("user-agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36");
+
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        authentication.setDetails(new HttpRequestDetails(request));
+        return new SecurityContextImpl(authentication);
+    }
+}
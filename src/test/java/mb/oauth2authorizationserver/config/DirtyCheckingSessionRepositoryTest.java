@@ -0,0 +1,103 @@
+package mb.oauth2authorizationserver.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.session.data.redis.RedisIndexedSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DirtyCheckingSessionRepositoryTest {
+
+    private static final String ATTRIBUTE_NAME = "roles";
+    private static final Instant LAST_ACCESSED_TIME = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private RedisIndexedSessionRepository redisIndexedSessionRepository;
+
+    @Mock
+    private RedisIndexedSessionRepository.RedisSession redisSession;
+
+    private final CompactSessionRedisSerializer serializer = new CompactSessionRedisSerializer(getClass().getClassLoader(), false);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<Object> loadedValue = new AtomicReference<>();
+
+    private DirtyCheckingSessionRepository dirtyCheckingSessionRepository;
+
+    @BeforeEach
+    void setUp() {
+        dirtyCheckingSessionRepository = new DirtyCheckingSessionRepository(redisIndexedSessionRepository, serializer, Duration.ofSeconds(60), meterRegistry);
+        byte[] storedBytes = serializer.serialize(new ArrayList<>(List.of("ROLE_USER")));
+        when(redisIndexedSessionRepository.findById("session-1")).thenAnswer(invocation -> {
+            loadedValue.set(serializer.deserialize(storedBytes));
+            return redisSession;
+        });
+    }
+
+    @Test
+    void setAttribute_ShouldSkipWrite_WhenValueIsUnchanged() {
+        // Arrange
+        when(redisSession.getAttribute(ATTRIBUTE_NAME)).thenAnswer(invocation -> loadedValue.get());
+        DirtyCheckingSessionRepository.DirtyCheckingSession session = dirtyCheckingSessionRepository.findById("session-1");
+        assertNotNull(session);
+
+        // Act
+        session.setAttribute(ATTRIBUTE_NAME, session.getAttribute(ATTRIBUTE_NAME));
+        session.setAttribute(ATTRIBUTE_NAME, new ArrayList<>(List.of("ROLE_USER")));
+
+        // Assertions
+        verify(redisSession, never()).setAttribute(anyString(), any());
+        assertEquals(2, meterRegistry.get("session.attribute.writes").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void setAttribute_ShouldWriteAndRecordBytes_WhenValueWasChangedInPlace() {
+        // Arrange
+        when(redisSession.getAttribute(ATTRIBUTE_NAME)).thenAnswer(invocation -> loadedValue.get());
+        DirtyCheckingSessionRepository.DirtyCheckingSession session = dirtyCheckingSessionRepository.findById("session-1");
+        assertNotNull(session);
+        List<String> roles = session.getAttribute(ATTRIBUTE_NAME);
+        roles.add("ROLE_ADMIN");
+
+        // Act
+        session.setAttribute(ATTRIBUTE_NAME, roles);
+        dirtyCheckingSessionRepository.save(session);
+
+        // Assertions
+        verify(redisSession).setAttribute(ATTRIBUTE_NAME, roles);
+        verify(redisIndexedSessionRepository).save(redisSession);
+        assertEquals(serializer.serialize(roles).length, meterRegistry.get("session.write.bytes").summary().totalAmount());
+    }
+
+    @Test
+    void setLastAccessedTime_ShouldSkipTouch_WhenWithinTouchInterval() {
+        // Arrange
+        when(redisSession.getLastAccessedTime()).thenReturn(LAST_ACCESSED_TIME);
+        DirtyCheckingSessionRepository.DirtyCheckingSession session = dirtyCheckingSessionRepository.findById("session-1");
+        assertNotNull(session);
+
+        // Act
+        session.setLastAccessedTime(LAST_ACCESSED_TIME.plusSeconds(30));
+        session.setLastAccessedTime(LAST_ACCESSED_TIME.plusSeconds(90));
+
+        // Assertions
+        verify(redisSession, never()).setLastAccessedTime(LAST_ACCESSED_TIME.plusSeconds(30));
+        verify(redisSession).setLastAccessedTime(LAST_ACCESSED_TIME.plusSeconds(90));
+    }
+}
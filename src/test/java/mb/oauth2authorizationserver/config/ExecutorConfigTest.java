@@ -0,0 +1,75 @@
+package mb.oauth2authorizationserver.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mb.oauth2authorizationserver.model.enums.RejectionPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExecutorConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void authExecutor_ShouldRejectAndCount_WhenPoolAndQueueAreFull() {
+        // Arrange
+        ExecutorProperties executorProperties = new ExecutorProperties();
+        executorProperties.setAuth(new ExecutorProperties.Pool(1, 1, 1, Duration.ofSeconds(60), RejectionPolicy.ABORT));
+        executor = executorConfig(executorProperties).authExecutor();
+        executor.initialize();
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        // Act & Assertions
+        assertThrows(TaskRejectedException.class, () -> executor.execute(this::awaitRelease));
+        assertEquals(1, meterRegistry.get("executor.rejected").tag("name", "auth").counter().count());
+    }
+
+    @Test
+    void ioExecutor_ShouldRunOnCaller_WhenPoolAndQueueAreFull() {
+        // Arrange
+        ExecutorProperties executorProperties = new ExecutorProperties();
+        executorProperties.setIo(new ExecutorProperties.Pool(1, 1, 1, Duration.ofSeconds(60), RejectionPolicy.CALLER_RUNS));
+        executor = executorConfig(executorProperties).ioExecutor();
+        executor.initialize();
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+
+        // Act
+        executor.execute(() -> runner.set(Thread.currentThread()));
+
+        // Assertions
+        assertEquals(Thread.currentThread(), runner.get());
+        assertEquals(1, meterRegistry.get("executor.rejected").tag("name", "io").counter().count());
+    }
+
+    private ExecutorConfig executorConfig(ExecutorProperties executorProperties) {
+        return new ExecutorConfig(executorProperties, new ContextPropagatingTaskDecorator(), meterRegistry, false);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.security.web.servlet.util.matcher.PathPatternRequestM
  * Test security configuration that disables all Spring Security filters.
  * <p>
  * Does NOT re-declare {@code jwtDecoder}, {@code jwkSource}, or {@code sessionRegistry} —
- * those are provided by the real {@code SecurityConfig} and work without Redis or external keys.
+ * those are provided by the real {@code SecurityConfig} and {@code RedisSessionRegistry}.
  * {@code FindByIndexNameSessionRepository} is provided by {@code RedisTestConfiguration}.
  */
 @TestConfiguration
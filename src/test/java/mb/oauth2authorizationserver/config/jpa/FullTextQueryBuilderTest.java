@@ -0,0 +1,59 @@
+package mb.oauth2authorizationserver.config.jpa;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FullTextQueryBuilderTest {
+
+    private final FullTextQueryBuilder mariaDb = new FullTextQueryBuilder("jdbc:tc:mariadb:12.1.2://localhost:3306/oauth2_authorization_server");
+    private final FullTextQueryBuilder oracle = new FullTextQueryBuilder("jdbc:oracle:thin:@localhost:1521/FREEPDB1");
+
+    @Test
+    void prefixQuery_ShouldRequireEveryWordPrefix_WhenDatabaseIsMariaDb() {
+        // Act & Assertions
+        assertEquals("+John* +Smith*", mariaDb.prefixQuery("  John Smith "));
+    }
+
+    @Test
+    void prefixQuery_ShouldJoinWordPrefixesWithAnd_WhenDatabaseIsOracle() {
+        // Act & Assertions
+        assertEquals("John% AND Smith%", oracle.prefixQuery("John Smith"));
+    }
+
+    @Test
+    void prefixQuery_ShouldDropOperators_WhenInputContainsFullTextSyntax() {
+        // Act & Assertions
+        assertEquals("+admin* +client*", mariaDb.prefixQuery("-admin* \"client\" (@>"));
+        assertEquals("admin% AND client%", oracle.prefixQuery("admin & client|{"));
+    }
+
+    @Test
+    void prefixQuery_ShouldSplitOnUnderscore_WhenDatabaseIsOracle() {
+        // Act & Assertions
+        assertEquals("+test_client*", mariaDb.prefixQuery("test_client"));
+        assertEquals("test% AND client%", oracle.prefixQuery("test_client"));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   ", "*+-"})
+    void prefixQuery_ShouldReturnNull_WhenInputHasNoWords(String input) {
+        // Act & Assertions
+        assertNull(mariaDb.prefixQuery(input));
+    }
+
+    @Test
+    void isIndexable_ShouldReturnFalse_WhenAnyWordIsShorterThanMinimumTokenSize() {
+        // Act & Assertions
+        assertTrue(mariaDb.isIndexable("john smith"));
+        assertTrue(mariaDb.isIndexable(null));
+        assertFalse(mariaDb.isIndexable("jo smith"));
+    }
+}
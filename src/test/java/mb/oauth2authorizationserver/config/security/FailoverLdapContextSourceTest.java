@@ -0,0 +1,69 @@
+package mb.oauth2authorizationserver.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mb.oauth2authorizationserver.config.CustomLdapProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.ldap.CommunicationException;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailoverLdapContextSourceTest {
+
+    // Nothing listens on these ports, so every connection attempt is refused right away
+    private static final String FIRST_URL = "ldap://127.0.0.1:1";
+    private static final String SECOND_URL = "ldap://127.0.0.1:2";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FailoverLdapContextSource failoverLdapContextSource;
+
+    @BeforeEach
+    void setUp() {
+        CustomLdapProperties customLdapProperties = new CustomLdapProperties();
+        customLdapProperties.setUrls(new String[]{FIRST_URL, SECOND_URL});
+        customLdapProperties.setUserDn("uid=admin,ou=people,dc=example,dc=com");
+        customLdapProperties.setPassword("password");
+        failoverLdapContextSource = new FailoverLdapContextSource(customLdapProperties, 2, Duration.ofSeconds(1), Duration.ofSeconds(30), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        failoverLdapContextSource.destroy();
+    }
+
+    @Test
+    void getReadOnlyContext_ShouldTryNextUrl_WhenPooledConnectionToFirstUrlIsRefused() {
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> failoverLdapContextSource.getReadOnlyContext());
+
+        // Assertions
+        assertTrue(FailoverLdapContextSource.isUnavailable(exception));
+        assertEquals(1, unavailableCount(FIRST_URL));
+        assertEquals(1, unavailableCount(SECOND_URL));
+    }
+
+    @Test
+    void isUnavailable_ShouldInspectCauseChain_WhenPoolWrapsConnectionFailure() {
+        // Arrange
+        DataAccessResourceFailureException borrowFailure = new DataAccessResourceFailureException("Failed to borrow DirContext from pool.",
+                new CommunicationException(new javax.naming.CommunicationException("Connection refused")));
+        DataAccessResourceFailureException poolExhausted = new DataAccessResourceFailureException("Failed to borrow DirContext from pool.",
+                new NoSuchElementException("Timeout waiting for idle object"));
+
+        // Act & Assertions
+        assertTrue(FailoverLdapContextSource.isUnavailable(borrowFailure));
+        assertFalse(FailoverLdapContextSource.isUnavailable(poolExhausted));
+    }
+
+    private long unavailableCount(String url) {
+        return meterRegistry.get("ldap.connections").tag("url", url).tag("type", "pooled").tag("result", "unavailable").timer().count();
+    }
+}
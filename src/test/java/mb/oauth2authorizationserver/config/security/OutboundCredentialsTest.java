@@ -0,0 +1,60 @@
+package mb.oauth2authorizationserver.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.Authenticator;
+import java.net.PasswordAuthentication;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboundCredentialsTest {
+
+    @Test
+    void current_ShouldBeNull_WhenNoCredentialsAreBound() {
+        // Act & Assertions
+        assertNull(OutboundCredentials.current());
+    }
+
+    @Test
+    void callWith_ShouldExposeOnlyOwnCredentials_WhenCallsRunConcurrently() throws Exception {
+        // Arrange
+        int calls = 200;
+        CountDownLatch inFlight = new CountDownLatch(calls);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < calls; i++) {
+                String username = "user" + i;
+                results.add(executor.submit(() -> OutboundCredentials.callWith(username, "password-" + username, () -> {
+                    // All calls hold their credentials at the same time before reading them back.
+                    inFlight.countDown();
+                    assertTrue(inFlight.await(10, TimeUnit.SECONDS));
+                    PasswordAuthentication credentials = OutboundCredentials.authenticator()
+                            .requestPasswordAuthenticationInstance("localhost", null, 443, "https", "realm", "basic", null, Authenticator.RequestorType.SERVER);
+                    assertNotNull(credentials);
+                    assertArrayEquals(("password-" + credentials.getUserName()).toCharArray(), credentials.getPassword());
+                    return credentials.getUserName();
+                })));
+            }
+        }
+
+        // Assertions
+        for (int i = 0; i < calls; i++) {
+            assertEquals("user" + i, results.get(i).get());
+        }
+        assertNull(OutboundCredentials.current());
+        assertNull(Authenticator.getDefault());
+    }
+}
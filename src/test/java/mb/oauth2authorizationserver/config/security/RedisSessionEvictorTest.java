@@ -0,0 +1,85 @@
+package mb.oauth2authorizationserver.config.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisSessionEvictorTest {
+
+    @Mock
+    private FindByIndexNameSessionRepository<MapSession> sessionRepository;
+
+    @Mock
+    private SessionRegistry sessionRegistry;
+
+    private RedisSessionEvictor redisSessionEvictor;
+
+    @BeforeEach
+    void setUp() {
+        redisSessionEvictor = new RedisSessionEvictor(sessionRepository, sessionRegistry);
+    }
+
+    @Test
+    void evict_ShouldReportProgressPerBatch_WhenSessionsExceedBatchSize() {
+        // Arrange
+        List<String> sessionIds = IntStream.rangeClosed(1, RedisSessionEvictor.BATCH_SIZE + 1).mapToObj(i -> "session-" + i).toList();
+        when(sessionRepository.findById(anyString())).thenAnswer(invocation -> new MapSession(invocation.<String>getArgument(0)));
+        List<Long> progress = new ArrayList<>();
+
+        // Act
+        long evicted = redisSessionEvictor.evict(Map.of("user", sessionIds), progress::add);
+
+        // Assertions
+        assertEquals(RedisSessionEvictor.BATCH_SIZE + 1L, evicted);
+        assertEquals(List.of((long) RedisSessionEvictor.BATCH_SIZE, RedisSessionEvictor.BATCH_SIZE + 1L), progress);
+        verify(sessionRepository, times(RedisSessionEvictor.BATCH_SIZE + 1)).deleteById(anyString());
+        verify(sessionRegistry).removeSessionInformation("session-1");
+        verify(sessionRegistry).removeSessionInformation("session-" + (RedisSessionEvictor.BATCH_SIZE + 1));
+    }
+
+    @Test
+    void evict_ShouldDeleteThroughRepository_WhenSingleSessionIsEvicted() {
+        // Arrange
+        when(sessionRepository.findById("session-1")).thenReturn(new MapSession("session-1"));
+
+        // Act
+        long evicted = redisSessionEvictor.evict("user", List.of("session-1"));
+
+        // Assertions
+        assertEquals(1, evicted);
+        verify(sessionRepository).deleteById("session-1");
+        verify(sessionRegistry).removeSessionInformation("session-1");
+    }
+
+    @Test
+    void evict_ShouldNotCountSession_WhenItNoLongerExists() {
+        // Arrange
+        when(sessionRepository.findById("session-1")).thenReturn(null);
+
+        // Act
+        long evicted = redisSessionEvictor.evict("user", List.of("session-1"));
+
+        // Assertions
+        assertEquals(0, evicted);
+        verify(sessionRepository, never()).deleteById(anyString());
+        verify(sessionRegistry).removeSessionInformation("session-1");
+    }
+}
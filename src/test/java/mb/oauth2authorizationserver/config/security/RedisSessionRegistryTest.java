@@ -0,0 +1,142 @@
+package mb.oauth2authorizationserver.config.security;
+
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.session.SessionInformation;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisSessionRegistryTest {
+
+    @Mock
+    private FindByIndexNameSessionRepository<MapSession> sessionRepository;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RScoredSortedSet<String> principalNames;
+
+    private RedisSessionRegistry redisSessionRegistry;
+
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+        when(redissonClient.<String>getScoredSortedSet(ServiceConstants.SESSION_PRINCIPALS_KEY, StringCodec.INSTANCE)).thenReturn(principalNames);
+        redisSessionRegistry = new RedisSessionRegistry(sessionRepository, redissonClient, Duration.ofMinutes(1), 100, Duration.ofMinutes(5));
+        user = User.withUsername("user").password("password").build();
+    }
+
+    @Test
+    void getAllSessions_ShouldReadPrincipalIndexOnce_WhenCalledTwice() {
+        // Arrange
+        MapSession session = authenticatedSession("session-1");
+        when(sessionRepository.findByPrincipalName("user")).thenReturn(Map.of(session.getId(), session));
+
+        // Act
+        List<SessionInformation> first = redisSessionRegistry.getAllSessions(user, false);
+        List<SessionInformation> second = redisSessionRegistry.getAllSessions(user, false);
+
+        // Assertions
+        assertEquals(1, first.size());
+        assertEquals("session-1", first.getFirst().getSessionId());
+        assertSame(user, first.getFirst().getPrincipal());
+        assertEquals(first, second);
+        verify(sessionRepository, times(1)).findByPrincipalName("user");
+    }
+
+    @Test
+    void getAllPrincipals_ShouldSkipPrincipalWithoutRemovingIt_WhenItHasNoSessions() {
+        // Arrange
+        when(principalNames.readAll()).thenReturn(Set.of("user"));
+        when(sessionRepository.findByPrincipalName("user")).thenReturn(Map.of());
+
+        // Act
+        List<Object> principals = redisSessionRegistry.getAllPrincipals();
+
+        // Assertions
+        assertTrue(principals.isEmpty());
+        verify(principalNames, never()).remove(any());
+    }
+
+    @Test
+    void pruneEmptyPrincipals_ShouldRemovePrincipal_WhenUncachedReadFindsNoSession() {
+        // Arrange
+        MapSession session = authenticatedSession("session-1");
+        when(sessionRepository.findByPrincipalName("user")).thenReturn(Map.of(session.getId(), session), Map.of());
+        redisSessionRegistry.getAllSessions(user, false);
+        when(principalNames.valueRange(eq(Double.NEGATIVE_INFINITY), eq(true), anyDouble(), eq(true))).thenReturn(List.of("user", "other"));
+        when(sessionRepository.findByPrincipalName("other")).thenReturn(Map.of(session.getId(), session));
+
+        // Act
+        redisSessionRegistry.pruneEmptyPrincipals();
+
+        // Assertions
+        verify(principalNames).remove("user");
+        verify(principalNames, never()).remove("other");
+        assertTrue(redisSessionRegistry.getAllSessions(user, false).isEmpty());
+    }
+
+    @Test
+    void registerNewSession_ShouldRecordPrincipalName_WhenSessionIsRegistered() {
+        // Act
+        redisSessionRegistry.registerNewSession("session-1", user);
+
+        // Assertions
+        verify(principalNames).add(anyDouble(), eq("user"));
+    }
+
+    @Test
+    void expireNow_ShouldStoreMarkerOnSession_WhenSessionIsExpired() {
+        // Arrange
+        MapSession session = authenticatedSession("session-1");
+        when(sessionRepository.findById("session-1")).thenReturn(session);
+
+        // Act
+        SessionInformation sessionInformation = redisSessionRegistry.getSessionInformation("session-1");
+        sessionInformation.expireNow();
+
+        // Assertions
+        assertTrue(sessionInformation.isExpired());
+        assertEquals(Boolean.TRUE, session.getAttribute(RedisSessionRegistry.EXPIRED_ATTRIBUTE));
+        verify(sessionRepository).save(session);
+        assertTrue(redisSessionRegistry.getSessionInformation("session-1").isExpired());
+    }
+
+    private MapSession authenticatedSession(String sessionId) {
+        MapSession session = new MapSession(sessionId);
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities())));
+        return session;
+    }
+}
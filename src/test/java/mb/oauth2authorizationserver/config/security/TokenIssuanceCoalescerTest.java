@@ -0,0 +1,118 @@
+package mb.oauth2authorizationserver.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIssuanceCoalescerTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock lock;
+
+    @Test
+    void execute_ShouldIssueOnce_WhenIdenticalRequestsRunConcurrently() throws Exception {
+        // Arrange
+        TokenIssuanceCoalescer tokenIssuanceCoalescer = new TokenIssuanceCoalescer(redissonClient, false);
+        AtomicInteger issuances = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object token = new Object();
+        List<Future<Object>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            results.add(executor.submit(() -> tokenIssuanceCoalescer.execute("key", "lock-key", () -> {
+                issuances.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return token;
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> tokenIssuanceCoalescer.execute("key", "lock-key", () -> {
+                    issuances.incrementAndGet();
+                    return new Object();
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            // Assertions
+            for (Future<Object> result : results) {
+                assertSame(token, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, issuances.get());
+    }
+
+    @Test
+    void execute_ShouldRethrowLeaderFailure_WhenIssuanceFails() {
+        // Arrange
+        TokenIssuanceCoalescer tokenIssuanceCoalescer = new TokenIssuanceCoalescer(redissonClient, false);
+
+        // Act & Assertions
+        assertThrows(OAuth2AuthenticationException.class, () -> tokenIssuanceCoalescer.execute("key", "lock-key", () -> {
+            throw new OAuth2AuthenticationException("access_denied");
+        }));
+        assertEquals("issued", tokenIssuanceCoalescer.execute("key", "lock-key", () -> "issued"));
+    }
+
+    @Test
+    void execute_ShouldHoldDistributedLock_WhenClusterWide() throws Exception {
+        // Arrange
+        TokenIssuanceCoalescer tokenIssuanceCoalescer = new TokenIssuanceCoalescer(redissonClient, true);
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock(10, 30, TimeUnit.SECONDS)).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+
+        // Act
+        String result = tokenIssuanceCoalescer.execute("key", "lock-key", () -> "issued");
+
+        // Assertions
+        assertEquals("issued", result);
+        verify(redissonClient).getLock("oauth2-authorization-server:tokenIssuanceLock:lock-key");
+        verify(lock).unlock();
+    }
+
+    @Test
+    void key_ShouldDiffer_WhenPartsDiffer() {
+        // Assertions
+        assertEquals(TokenIssuanceCoalescer.key("client", "user", "read"), TokenIssuanceCoalescer.key("client", "user", "read"));
+        assertNotEquals(TokenIssuanceCoalescer.key("client", "user", "read"), TokenIssuanceCoalescer.key("client", "user", "write"));
+        assertNotEquals(TokenIssuanceCoalescer.key("client", "ab", "c"), TokenIssuanceCoalescer.key("client", "a", "bc"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package mb.oauth2authorizationserver.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.settings.TokenSettings;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRateLimiterTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RRateLimiter rateLimiter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void acquire_ShouldThrottleWithRetryAfter_WhenBurstIsExhausted() {
+        // Arrange
+        TokenRateLimiter tokenRateLimiter = new TokenRateLimiter(redissonClient, meterRegistry, 60, 2, false);
+        RegisteredClient registeredClient = registeredClient(Map.of());
+
+        // Act
+        Optional<Duration> first = tokenRateLimiter.acquire(registeredClient);
+        Optional<Duration> second = tokenRateLimiter.acquire(registeredClient);
+        Optional<Duration> third = tokenRateLimiter.acquire(registeredClient);
+
+        // Assertions
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertTrue(third.isPresent());
+        assertTrue(third.get().compareTo(Duration.ofSeconds(1)) <= 0);
+        assertEquals(1, meterRegistry.get("token.endpoint.rate-limit").tag("client_id", "client").tag("result", "throttled_local").counter().count());
+        verifyNoInteractions(redissonClient);
+    }
+
+    @Test
+    void acquire_ShouldUseClientTokenSettings_WhenLimitsAreConfiguredOnClient() {
+        // Arrange
+        TokenRateLimiter tokenRateLimiter = new TokenRateLimiter(redissonClient, meterRegistry, 60, 100, false);
+        RegisteredClient registeredClient = registeredClient(Map.of(TokenRateLimiter.REQUESTS_PER_MINUTE_SETTING, 60, TokenRateLimiter.BURST_SETTING, 1));
+
+        // Act
+        Optional<Duration> first = tokenRateLimiter.acquire(registeredClient);
+        Optional<Duration> second = tokenRateLimiter.acquire(registeredClient);
+
+        // Assertions
+        assertTrue(first.isEmpty());
+        assertTrue(second.isPresent());
+    }
+
+    @Test
+    void acquire_ShouldThrottle_WhenGlobalQuotaIsExhausted() {
+        // Arrange
+        TokenRateLimiter tokenRateLimiter = new TokenRateLimiter(redissonClient, meterRegistry, 60, 10, true);
+        when(redissonClient.getRateLimiter("oauth2-authorization-server:rateLimit:token:client-id")).thenReturn(rateLimiter);
+        when(rateLimiter.tryAcquire()).thenReturn(false);
+
+        // Act
+        Optional<Duration> retryAfter = tokenRateLimiter.acquire(registeredClient(Map.of()));
+
+        // Assertions
+        assertEquals(Optional.of(Duration.ofSeconds(1)), retryAfter);
+        verify(rateLimiter).trySetRate(RateType.OVERALL, 60, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void acquire_ShouldGiveLocalSlotBack_WhenGlobalQuotaRejects() {
+        // Arrange
+        TokenRateLimiter tokenRateLimiter = new TokenRateLimiter(redissonClient, meterRegistry, 60, 1, true);
+        when(redissonClient.getRateLimiter("oauth2-authorization-server:rateLimit:token:client-id")).thenReturn(rateLimiter);
+        when(rateLimiter.tryAcquire()).thenReturn(false, true);
+        RegisteredClient registeredClient = registeredClient(Map.of());
+
+        // Act
+        Optional<Duration> rejected = tokenRateLimiter.acquire(registeredClient);
+        Optional<Duration> allowed = tokenRateLimiter.acquire(registeredClient);
+
+        // Assertions
+        assertTrue(rejected.isPresent());
+        assertTrue(allowed.isEmpty());
+    }
+
+    private static RegisteredClient registeredClient(Map<String, Object> tokenSettings) {
+        return RegisteredClient.withId("client-id")
+                .clientId("client")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .tokenSettings(TokenSettings.builder().settings(settings -> settings.putAll(tokenSettings)).build())
+                .build();
+    }
+}
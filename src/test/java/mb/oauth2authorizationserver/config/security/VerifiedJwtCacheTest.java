@@ -0,0 +1,187 @@
+package mb.oauth2authorizationserver.config.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache.VerifiedJwt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerifiedJwtCacheTest {
+
+    private VerifiedJwtCache verifiedJwtCache;
+
+    @BeforeEach
+    void setUp() {
+        verifiedJwtCache = new VerifiedJwtCache(100, Duration.ofHours(1));
+    }
+
+    @Test
+    void get_ShouldReturnCachedEntry_WhenTokenIsRequestedTwice() {
+        // Arrange
+        AtomicInteger verifications = new AtomicInteger();
+        Function<String, VerifiedJwt> verifier = countingVerifier(verifications, Instant.now().plusSeconds(3600));
+
+        // Act
+        VerifiedJwt first = verifiedJwtCache.get("token", verifier);
+        VerifiedJwt second = verifiedJwtCache.get("token", verifier);
+
+        // Assertions
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void get_ShouldVerifyAgain_WhenTokenIsAlreadyExpired() {
+        // Arrange
+        AtomicInteger verifications = new AtomicInteger();
+        Function<String, VerifiedJwt> verifier = countingVerifier(verifications, Instant.now().minusSeconds(1));
+
+        // Act
+        verifiedJwtCache.get("token", verifier);
+        verifiedJwtCache.get("token", verifier);
+
+        // Assertions
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_ShouldThrowJwtException_WhenTokenIsRevoked() {
+        // Arrange
+        AtomicInteger verifications = new AtomicInteger();
+        Function<String, VerifiedJwt> verifier = countingVerifier(verifications, Instant.now().plusSeconds(3600));
+        verifiedJwtCache.get("token", verifier);
+
+        // Act
+        verifiedJwtCache.revoke("token");
+
+        // Assertions
+        assertThrows(JwtException.class, () -> verifiedJwtCache.get("token", verifier));
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void invalidateAll_ShouldForceVerification_WhenTokenWasCached() {
+        // Arrange
+        AtomicInteger verifications = new AtomicInteger();
+        Function<String, VerifiedJwt> verifier = countingVerifier(verifications, Instant.now().plusSeconds(3600));
+        verifiedJwtCache.get("token", verifier);
+
+        // Act
+        verifiedJwtCache.invalidateAll();
+        verifiedJwtCache.get("token", verifier);
+
+        // Assertions
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void revoke_ShouldNotifyListenerWithDigestOnly_WhenTokenIsRevoked() {
+        // Arrange
+        List<String> revocations = new ArrayList<>();
+        verifiedJwtCache.setRevocationListener(revocations::add);
+
+        // Act
+        verifiedJwtCache.revoke("token");
+        verifiedJwtCache.invalidateAll();
+
+        // Assertions
+        assertEquals(2, revocations.size());
+        assertNotEquals("token", revocations.getFirst());
+        assertEquals(VerifiedJwtCache.ALL_TOKENS, revocations.get(1));
+    }
+
+    @Test
+    void applyRevocation_ShouldRejectToken_WhenRevokedOnAnotherNode() {
+        // Arrange
+        VerifiedJwtCache otherNode = new VerifiedJwtCache(100, Duration.ofHours(1));
+        List<String> revocations = new ArrayList<>();
+        otherNode.setRevocationListener(revocations::add);
+        AtomicInteger verifications = new AtomicInteger();
+        Function<String, VerifiedJwt> verifier = countingVerifier(verifications, Instant.now().plusSeconds(3600));
+        verifiedJwtCache.get("token", verifier);
+
+        // Act
+        otherNode.revoke("token");
+        revocations.forEach(verifiedJwtCache::applyRevocation);
+
+        // Assertions
+        assertThrows(JwtException.class, () -> verifiedJwtCache.get("token", verifier));
+    }
+
+    @Test
+    void revoke_ShouldKeepEveryRevocation_WhenMoreTokensAreRevokedThanMaximumSize() {
+        // Arrange
+        VerifiedJwtCache smallCache = new VerifiedJwtCache(1, Duration.ofHours(1));
+        Function<String, VerifiedJwt> verifier = countingVerifier(new AtomicInteger(), Instant.now().plusSeconds(3600));
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            smallCache.revoke("token-" + i);
+        }
+
+        // Assertions
+        for (int i = 0; i < 100; i++) {
+            String tokenValue = "token-" + i;
+            assertThrows(JwtException.class, () -> smallCache.get(tokenValue, verifier));
+        }
+    }
+
+    @Test
+    void revoke_ShouldBroadcastTokenExpiry_WhenTokenIsCached() {
+        // Arrange
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(24));
+        List<String> revocations = new ArrayList<>();
+        verifiedJwtCache.setRevocationListener(revocations::add);
+        verifiedJwtCache.get("token", countingVerifier(new AtomicInteger(), expiresAt));
+
+        // Act
+        verifiedJwtCache.revoke("token");
+
+        // Assertions
+        assertTrue(revocations.getFirst().endsWith(" " + expiresAt.getEpochSecond()));
+    }
+
+    @Test
+    void applyRevocation_ShouldNotRejectToken_WhenRevocationHasExpired() {
+        // Arrange
+        String expiredToken = new PlainJWT(new JWTClaimsSet.Builder().claim(JwtClaimNames.EXP, Instant.now().minusSeconds(1).getEpochSecond()).build()).serialize();
+        List<String> revocations = new ArrayList<>();
+        VerifiedJwtCache otherNode = new VerifiedJwtCache(100, Duration.ofHours(1));
+        otherNode.setRevocationListener(revocations::add);
+        otherNode.revoke(expiredToken);
+        AtomicInteger verifications = new AtomicInteger();
+
+        // Act
+        revocations.forEach(verifiedJwtCache::applyRevocation);
+        verifiedJwtCache.get(expiredToken, countingVerifier(verifications, Instant.now().plusSeconds(3600)));
+
+        // Assertions
+        assertEquals(1, verifications.get());
+    }
+
+    private Function<String, VerifiedJwt> countingVerifier(AtomicInteger verifications, Instant expiresAt) {
+        return tokenValue -> {
+            verifications.incrementAndGet();
+            Jwt jwt = new Jwt(tokenValue, expiresAt.minusSeconds(60), expiresAt, Map.of("alg", "RS256"), Map.of("sub", "testUser"));
+            return new VerifiedJwt(jwt, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        };
+    }
+}
@@ -22,12 +22,27 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
 
+import java.net.Authenticator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -136,6 +151,43 @@ class CustomAuthenticationProviderTest {
         assertEquals(result, SecurityContextHolder.getContext().getAuthentication());
     }
 
+    @Test
+    void authenticate_ShouldKeepCredentialsPerLogin_WhenUsersLogInConcurrently() throws Exception {
+        // Arrange
+        int logins = 50;
+        Map<String, SecurityUser> users = new HashMap<>();
+        Map<SecurityUser, String> passwords = new HashMap<>();
+        List<Authentication> authentications = new ArrayList<>();
+        for (int i = 0; i < logins; i++) {
+            SecurityUser user = createEnabledUser();
+            users.put("user" + i + "@example.com", user);
+            passwords.put(user, "password-" + i);
+            authentications.add(createAuthentication("user" + i + "@example.com", "password-" + i, true));
+        }
+        when(userDetailsService.loadUserByUsername(anyString())).thenAnswer(invocation -> users.get(invocation.<String>getArgument(0)));
+        // Every login waits until all of them are in flight, so a lock shared between logins would time out here.
+        CountDownLatch inFlight = new CountDownLatch(logins);
+        when(customAuthenticationService.authenticate(anyString(), any(SecurityUser.class))).thenAnswer(invocation -> {
+            inFlight.countDown();
+            return inFlight.await(10, TimeUnit.SECONDS) && invocation.getArgument(0).equals(passwords.get(invocation.<SecurityUser>getArgument(1)));
+        });
+
+        // Act
+        List<Future<Authentication>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Authentication authentication : authentications) {
+                results.add(executor.submit(() -> customAuthenticationProvider.authenticate(authentication)));
+            }
+        }
+
+        // Assertions
+        for (int i = 0; i < logins; i++) {
+            assertEquals(users.get("user" + i + "@example.com"), results.get(i).get().getPrincipal());
+        }
+        assertNull(Authenticator.getDefault());
+        verify(userLoginAttemptService, times(logins)).addToUserLoginAttempt(any(SecurityUser.class), eq(LoginStatus.SUCCESS));
+    }
+
     @Test
     void supports_ShouldReturnTrueForUsernamePasswordAuthenticationToken_WhenSupported() {
         Class<?> authClass = UsernamePasswordAuthenticationToken.class;
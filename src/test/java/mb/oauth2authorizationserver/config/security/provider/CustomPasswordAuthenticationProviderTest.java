@@ -1,6 +1,7 @@
 package mb.oauth2authorizationserver.config.security.provider;
 
 import mb.oauth2authorizationserver.config.security.CustomPasswordAuthenticationToken;
+import mb.oauth2authorizationserver.config.security.TokenIssuanceCoalescer;
 import mb.oauth2authorizationserver.config.security.builder.AuthorizationBuilderService;
 import mb.oauth2authorizationserver.config.security.service.CustomAuthenticationService;
 import mb.oauth2authorizationserver.config.security.service.TokenService;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -83,6 +85,9 @@ class CustomPasswordAuthenticationProviderTest {
     @Mock
     private CustomAuthenticationService customAuthenticationService;
 
+    @Mock
+    private RedissonClient redissonClient;
+
     private OAuth2ClientAuthenticationToken clientPrincipal;
 
     @BeforeEach
@@ -96,7 +101,8 @@ class CustomPasswordAuthenticationProviderTest {
                 tokenService,
                 authorizationBuilderService,
                 userLoginAttemptService,
-                customAuthenticationService
+                customAuthenticationService,
+                new TokenIssuanceCoalescer(redissonClient, false)
         );
 
         RegisteredClient registeredClient = RegisteredClient.withId("test-client-id")
@@ -0,0 +1,163 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mb.oauth2authorizationserver.config.ExecutorProperties;
+import mb.oauth2authorizationserver.data.entity.SecurityUser;
+import mb.oauth2authorizationserver.model.enums.RejectionPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomAuthenticationServiceImplTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AuthenticationManager ldapAuthenticationManager;
+
+    private final SecurityUser user = SecurityUser.builder().username("user").password("encodedPassword").build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void authenticate_ShouldBindOnce_WhenSameWrongPasswordIsRepeated() {
+        // Arrange
+        CustomAuthenticationServiceImpl customAuthenticationService = customAuthenticationService("sequential");
+        when(passwordEncoder.matches(any(), any())).thenReturn(false);
+        when(ldapAuthenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act
+        boolean first = customAuthenticationService.authenticate("wrong", user);
+        boolean second = customAuthenticationService.authenticate("wrong", user);
+
+        // Assertions
+        assertFalse(first);
+        assertFalse(second);
+        verify(ldapAuthenticationManager, times(1)).authenticate(any());
+        assertEquals(1, meterRegistry.get("authentication.checks").tag("source", "ldap").tag("result", "cached").timer().count());
+    }
+
+    @Test
+    void authenticate_ShouldBindAgain_WhenPasswordDiffers() {
+        // Arrange
+        CustomAuthenticationServiceImpl customAuthenticationService = customAuthenticationService("sequential");
+        when(passwordEncoder.matches(any(), any())).thenReturn(false);
+        when(ldapAuthenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act
+        customAuthenticationService.authenticate("wrong", user);
+        customAuthenticationService.authenticate("other", user);
+
+        // Assertions
+        verify(ldapAuthenticationManager, times(2)).authenticate(any());
+        assertEquals(2, meterRegistry.get("authentication.checks").tag("source", "ldap").tag("result", "bad_credentials").timer().count());
+    }
+
+    @Test
+    void authenticate_ShouldSkipPasswordHash_WhenLdapSourceIsRemembered() {
+        // Arrange
+        CustomAuthenticationServiceImpl customAuthenticationService = customAuthenticationService("sequential");
+        when(passwordEncoder.matches(any(), any())).thenReturn(false);
+        when(ldapAuthenticationManager.authenticate(any())).thenReturn(UsernamePasswordAuthenticationToken.authenticated("user", null, List.of()));
+
+        // Act
+        boolean first = customAuthenticationService.authenticate("secret", user);
+        boolean second = customAuthenticationService.authenticate("secret", user);
+
+        // Assertions
+        assertTrue(first);
+        assertTrue(second);
+        verify(passwordEncoder, times(1)).matches(any(), any());
+        verify(ldapAuthenticationManager, times(2)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_ShouldNotWaitForPasswordHash_WhenHedgedLdapSucceedsFirst() {
+        // Arrange
+        CustomAuthenticationServiceImpl customAuthenticationService = customAuthenticationService("hedged");
+        lenient().when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return false;
+        });
+        when(ldapAuthenticationManager.authenticate(any())).thenReturn(UsernamePasswordAuthenticationToken.authenticated("user", null, List.of()));
+        long start = System.nanoTime();
+
+        // Act
+        boolean authenticated = customAuthenticationService.authenticate("secret", user);
+
+        // Assertions
+        assertTrue(authenticated);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1, meterRegistry.get("authentication.checks").tag("source", "ldap").tag("result", "success").timer().count());
+    }
+
+    @Test
+    void authenticate_ShouldCheckSequentially_WhenNoHedgePermitsAreLeft() {
+        // Arrange
+        CustomAuthenticationServiceImpl customAuthenticationService = customAuthenticationService("hedged", 0);
+        when(passwordEncoder.matches(any(), any())).thenReturn(true);
+
+        // Act
+        boolean authenticated = customAuthenticationService.authenticate("secret", user);
+
+        // Assertions
+        assertTrue(authenticated);
+        verifyNoInteractions(ldapAuthenticationManager);
+    }
+
+    @Test
+    void authenticate_ShouldOnlyCheckLocalPassword_WhenLdapIsNotConfigured() {
+        // Arrange
+        ObjectProvider<AuthenticationManager> noLdap = new StaticListableBeanFactory().getBeanProvider(AuthenticationManager.class);
+        CustomAuthenticationServiceImpl customAuthenticationService = customAuthenticationService("hedged", 8, noLdap);
+        when(passwordEncoder.matches(any(), any())).thenReturn(false);
+
+        // Act
+        boolean authenticated = customAuthenticationService.authenticate("wrong", user);
+
+        // Assertions
+        assertFalse(authenticated);
+        verify(passwordEncoder, times(1)).matches(any(), any());
+        assertTrue(meterRegistry.find("authentication.checks").tag("source", "ldap").timers().isEmpty());
+    }
+
+    private CustomAuthenticationServiceImpl customAuthenticationService(String strategy) {
+        return customAuthenticationService(strategy, 8);
+    }
+
+    private CustomAuthenticationServiceImpl customAuthenticationService(String strategy, int authPoolSize) {
+        return customAuthenticationService(strategy, authPoolSize,
+                new StaticListableBeanFactory(Map.of("ldapAuthenticationManager", ldapAuthenticationManager)).getBeanProvider(AuthenticationManager.class));
+    }
+
+    private CustomAuthenticationServiceImpl customAuthenticationService(String strategy, int authPoolSize, ObjectProvider<AuthenticationManager> ldapAuthenticationManager) {
+        ExecutorProperties executorProperties = new ExecutorProperties();
+        executorProperties.setAuth(new ExecutorProperties.Pool(authPoolSize, authPoolSize, 100, Duration.ofSeconds(60), RejectionPolicy.ABORT));
+        return new CustomAuthenticationServiceImpl(passwordEncoder, ldapAuthenticationManager, new TaskExecutorAdapter(Runnable::run), executorProperties,
+                new ContextPropagatingTaskDecorator(), meterRegistry, Duration.ofSeconds(30), 100, strategy, Duration.ofSeconds(5), Duration.ofHours(1), 100);
+    }
+}
@@ -0,0 +1,79 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import mb.oauth2authorizationserver.config.security.service.OneTimeTokenStoreService;
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.ott.GenerateOneTimeTokenRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CustomOneTimeTokenServiceImplTest {
+
+    private static final int MAXIMUM_PER_SOURCE = 2;
+
+    @Mock
+    private OneTimeTokenStoreService oneTimeTokenStoreService;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void generate_ShouldRefuseToken_WhenSourceExceedsMaximumPerSource() {
+        // Arrange
+        CustomOneTimeTokenServiceImpl customOneTimeTokenService = new CustomOneTimeTokenServiceImpl(oneTimeTokenStoreService, Duration.ofMinutes(5), MAXIMUM_PER_SOURCE, 100);
+        fromAddress("10.0.0.1");
+        for (int i = 0; i < MAXIMUM_PER_SOURCE; i++) {
+            customOneTimeTokenService.generate(new GenerateOneTimeTokenRequest("user-" + i));
+        }
+        GenerateOneTimeTokenRequest request = new GenerateOneTimeTokenRequest("user");
+
+        // Act
+        BaseException exception = assertThrows(BaseException.class, () -> customOneTimeTokenService.generate(request));
+
+        // Assertions
+        assertEquals(OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_SOURCE_LIMIT, exception.getErrorCode());
+        verify(oneTimeTokenStoreService, times(MAXIMUM_PER_SOURCE)).save(any());
+    }
+
+    @Test
+    void generate_ShouldSaveToken_WhenAnotherSourceIsOverItsLimit() {
+        // Arrange
+        CustomOneTimeTokenServiceImpl customOneTimeTokenService = new CustomOneTimeTokenServiceImpl(oneTimeTokenStoreService, Duration.ofMinutes(5), MAXIMUM_PER_SOURCE, 100);
+        fromAddress("10.0.0.1");
+        for (int i = 0; i < MAXIMUM_PER_SOURCE; i++) {
+            customOneTimeTokenService.generate(new GenerateOneTimeTokenRequest("user-" + i));
+        }
+        fromAddress("10.0.0.2");
+
+        // Act
+        var oneTimeToken = customOneTimeTokenService.generate(new GenerateOneTimeTokenRequest("user"));
+
+        // Assertions
+        assertNotNull(oneTimeToken);
+        verify(oneTimeTokenStoreService, times(MAXIMUM_PER_SOURCE + 1)).save(any());
+    }
+
+    private static void fromAddress(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
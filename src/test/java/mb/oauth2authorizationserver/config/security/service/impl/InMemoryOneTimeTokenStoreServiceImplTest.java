@@ -0,0 +1,112 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.ott.DefaultOneTimeToken;
+import org.springframework.security.authentication.ott.OneTimeToken;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryOneTimeTokenStoreServiceImplTest {
+
+    private static final long MAXIMUM_SIZE = 10_000;
+    private static final int MAXIMUM_PER_USER = 3;
+
+    private final InMemoryOneTimeTokenStoreServiceImpl inMemoryOneTimeTokenStoreService = new InMemoryOneTimeTokenStoreServiceImpl(MAXIMUM_SIZE, MAXIMUM_PER_USER);
+
+    @Test
+    void consume_ShouldReturnTokenOnlyOnce_WhenTokenIsValid() {
+        // Arrange
+        OneTimeToken oneTimeToken = new DefaultOneTimeToken("token", "user", Instant.now().plus(5, ChronoUnit.MINUTES));
+        inMemoryOneTimeTokenStoreService.save(oneTimeToken);
+
+        // Act
+        OneTimeToken first = inMemoryOneTimeTokenStoreService.consume("token");
+        OneTimeToken second = inMemoryOneTimeTokenStoreService.consume("token");
+
+        // Assertions
+        assertEquals(oneTimeToken, first);
+        assertNull(second);
+    }
+
+    @Test
+    void consume_ShouldReturnNull_WhenTokenHasExpired() {
+        // Arrange
+        inMemoryOneTimeTokenStoreService.save(new DefaultOneTimeToken("token", "user", Instant.now().minusSeconds(1)));
+
+        // Act
+        OneTimeToken oneTimeToken = inMemoryOneTimeTokenStoreService.consume("token");
+
+        // Assertions
+        assertNull(oneTimeToken);
+        assertEquals(0, inMemoryOneTimeTokenStoreService.estimatedSize());
+    }
+
+    @Test
+    void save_ShouldStayWithinMaximumSize_WhenMillionTokensAreNeverConsumed() {
+        // Arrange
+        Instant expiresAt = Instant.now().plus(5, ChronoUnit.MINUTES);
+        int saves = 1_000_000;
+        int refused = 0;
+
+        // Act
+        for (int i = 0; i < saves; i++) {
+            try {
+                inMemoryOneTimeTokenStoreService.save(new DefaultOneTimeToken("token-" + i, "user-" + i, expiresAt));
+            } catch (BaseException e) {
+                assertEquals(OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_STORE_FULL, e.getErrorCode());
+                refused++;
+            }
+        }
+
+        // Assertions
+        assertTrue(inMemoryOneTimeTokenStoreService.estimatedSize() <= MAXIMUM_SIZE);
+        assertEquals(saves - MAXIMUM_SIZE, refused);
+        assertNotNull(inMemoryOneTimeTokenStoreService.consume("token-0"));
+        assertNull(inMemoryOneTimeTokenStoreService.consume("token-" + (saves - 1)));
+    }
+
+    @Test
+    void save_ShouldDropOnlyOwnOldestToken_WhenUserExceedsMaximumPerUser() {
+        // Arrange
+        Instant expiresAt = Instant.now().plus(5, ChronoUnit.MINUTES);
+        inMemoryOneTimeTokenStoreService.save(new DefaultOneTimeToken("other-token", "other", expiresAt));
+
+        // Act
+        for (int i = 0; i <= MAXIMUM_PER_USER; i++) {
+            inMemoryOneTimeTokenStoreService.save(new DefaultOneTimeToken("token-" + i, "user", expiresAt));
+        }
+
+        // Assertions
+        assertNull(inMemoryOneTimeTokenStoreService.consume("token-0"));
+        assertNotNull(inMemoryOneTimeTokenStoreService.consume("token-" + MAXIMUM_PER_USER));
+        assertNotNull(inMemoryOneTimeTokenStoreService.consume("other-token"));
+    }
+
+    @Test
+    void save_ShouldRefuseTokenAndKeepLiveOnes_WhenStoreIsFull() {
+        // Arrange
+        InMemoryOneTimeTokenStoreServiceImpl store = new InMemoryOneTimeTokenStoreServiceImpl(2, MAXIMUM_PER_USER);
+        Instant expiresAt = Instant.now().plus(5, ChronoUnit.MINUTES);
+        store.save(new DefaultOneTimeToken("token-1", "user-1", expiresAt));
+        store.save(new DefaultOneTimeToken("token-2", "user-2", expiresAt));
+        DefaultOneTimeToken refused = new DefaultOneTimeToken("token-3", "user-3", expiresAt);
+
+        // Act
+        BaseException exception = assertThrows(BaseException.class, () -> store.save(refused));
+
+        // Assertions
+        assertEquals(OAuth2AuthorizationServerServiceErrorCode.ONE_TIME_TOKEN_STORE_FULL, exception.getErrorCode());
+        assertNotNull(store.consume("token-1"));
+        assertNotNull(store.consume("token-2"));
+        assertNull(store.consume("token-3"));
+    }
+}
@@ -0,0 +1,143 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import mb.oauth2authorizationserver.data.entity.AuthorizationConsent;
+import mb.oauth2authorizationserver.data.repository.AuthorizationConsentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMapCacheNative;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OAuth2AuthorizationConsentServiceImplTest {
+
+    private static final String CONSENT_KEY = "oauth2-authorization-server:consents:user";
+    private static final Duration REDIS_TTL = Duration.ofMinutes(10);
+    private static final AuthorizationConsent.AuthorizationConsentId CONSENT_ID = new AuthorizationConsent.AuthorizationConsentId("client-1", "user");
+
+    @Mock
+    private AuthorizationConsentRepository authorizationConsentRepository;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RMapCacheNative<String, String> principalConsents;
+
+    private OAuth2AuthorizationConsentServiceImpl oAuth2AuthorizationConsentService;
+
+    @BeforeEach
+    void setUp() {
+        oAuth2AuthorizationConsentService = new OAuth2AuthorizationConsentServiceImpl(authorizationConsentRepository, redissonClient, Duration.ofSeconds(30), 100, REDIS_TTL);
+        lenient().when(redissonClient.<String, String>getMapCacheNative(CONSENT_KEY, StringCodec.INSTANCE)).thenReturn(principalConsents);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findById_ShouldReadRedisOnce_WhenConsentIsCachedLocally() {
+        // Arrange
+        when(principalConsents.get("client-1")).thenReturn("SCOPE_read SCOPE_write");
+
+        // Act
+        OAuth2AuthorizationConsent first = oAuth2AuthorizationConsentService.findById("client-1", "user");
+        OAuth2AuthorizationConsent second = oAuth2AuthorizationConsentService.findById("client-1", "user");
+
+        // Assertions
+        assertNotNull(first);
+        assertEquals(Set.of(new SimpleGrantedAuthority("SCOPE_read"), new SimpleGrantedAuthority("SCOPE_write")), first.getAuthorities());
+        assertEquals(first, second);
+        verify(principalConsents, times(1)).get("client-1");
+        verify(authorizationConsentRepository, never()).findById(any());
+    }
+
+    @Test
+    void findById_ShouldLoadFromDatabaseAndRefillRedis_WhenRedisHasNoEntry() {
+        // Arrange
+        when(principalConsents.get("client-1")).thenReturn(null);
+        when(authorizationConsentRepository.findById(CONSENT_ID)).thenReturn(Optional.of(new AuthorizationConsent("client-1", "user", "SCOPE_read")));
+
+        // Act
+        OAuth2AuthorizationConsent consent = oAuth2AuthorizationConsentService.findById("client-1", "user");
+
+        // Assertions
+        assertNotNull(consent);
+        assertEquals(Set.of(new SimpleGrantedAuthority("SCOPE_read")), consent.getAuthorities());
+        verify(principalConsents).fastPut("client-1", "SCOPE_read", REDIS_TTL);
+    }
+
+    @Test
+    void remove_ShouldDeleteEverywhere_WhenConsentIsRevoked() {
+        // Arrange
+        OAuth2AuthorizationConsent consent = OAuth2AuthorizationConsent.withId("client-1", "user").scope("read").build();
+        oAuth2AuthorizationConsentService.save(consent);
+
+        // Act
+        oAuth2AuthorizationConsentService.remove(consent);
+
+        // Assertions
+        verify(authorizationConsentRepository).save(new AuthorizationConsent("client-1", "user", "SCOPE_read"));
+        verify(authorizationConsentRepository).deleteById(CONSENT_ID);
+        verify(principalConsents).fastRemove("client-1");
+        assertNull(oAuth2AuthorizationConsentService.findById("client-1", "user"));
+        verify(principalConsents, never()).get(any());
+    }
+
+    @Test
+    void remove_ShouldTouchRedisOnlyAfterCommit_WhenCalledInTransaction() {
+        // Arrange
+        OAuth2AuthorizationConsent consent = OAuth2AuthorizationConsent.withId("client-1", "user").scope("read").build();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        oAuth2AuthorizationConsentService.remove(consent);
+        verify(principalConsents, never()).fastRemove(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assertions
+        verify(authorizationConsentRepository).deleteById(CONSENT_ID);
+        verify(principalConsents).fastRemove("client-1");
+    }
+
+    @Test
+    void save_ShouldNotWriteRedis_WhenTransactionRollsBack() {
+        // Arrange
+        OAuth2AuthorizationConsent consent = OAuth2AuthorizationConsent.withId("client-1", "user").scope("read").build();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        oAuth2AuthorizationConsentService.save(consent);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assertions
+        verify(authorizationConsentRepository).save(new AuthorizationConsent("client-1", "user", "SCOPE_read"));
+        verify(principalConsents, never()).fastPut(any(), any(), any(Duration.class));
+    }
+}
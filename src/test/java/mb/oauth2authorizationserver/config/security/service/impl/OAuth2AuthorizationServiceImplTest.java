@@ -0,0 +1,98 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache;
+import mb.oauth2authorizationserver.config.security.builder.AuthorizationBuilderService;
+import mb.oauth2authorizationserver.data.entity.Authorization;
+import mb.oauth2authorizationserver.data.repository.AuthorizationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OAuth2AuthorizationServiceImplTest {
+
+    @Mock
+    private AuthorizationRepository authorizationRepository;
+
+    @Mock
+    private AuthorizationBuilderService authorizationBuilderService;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock lock;
+
+    @Mock
+    private VerifiedJwtCache verifiedJwtCache;
+
+    @Test
+    void save_ShouldRevokeCachedToken_WhenAccessTokenIsInvalidated() throws InterruptedException {
+        // Arrange
+        OAuth2Authorization authorization = authorization(true);
+        stubSave();
+
+        // Act
+        oAuth2AuthorizationService().save(authorization);
+
+        // Assertions
+        verify(verifiedJwtCache).revoke("access-token");
+    }
+
+    @Test
+    void save_ShouldKeepCachedToken_WhenAccessTokenIsValid() throws InterruptedException {
+        // Arrange
+        OAuth2Authorization authorization = authorization(false);
+        stubSave();
+
+        // Act
+        oAuth2AuthorizationService().save(authorization);
+
+        // Assertions
+        verify(verifiedJwtCache, never()).revoke(anyString());
+    }
+
+    private void stubSave() throws InterruptedException {
+        Authorization entity = new Authorization();
+        entity.setPrincipalName("user");
+        when(authorizationBuilderService.toEntity(any())).thenReturn(entity);
+        when(redissonClient.getLock(anyString())).thenReturn(lock);
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(authorizationRepository.findByRegisteredClientIdAndPrincipalNameAndAuthorizationGrantType(any(), any(), any())).thenReturn(Optional.empty());
+    }
+
+    private OAuth2AuthorizationServiceImpl oAuth2AuthorizationService() {
+        return new OAuth2AuthorizationServiceImpl(authorizationRepository, authorizationBuilderService, redissonClient, verifiedJwtCache);
+    }
+
+    private static OAuth2Authorization authorization(boolean invalidated) {
+        RegisteredClient registeredClient = RegisteredClient.withId("client-id")
+                .clientId("client")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .build();
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "access-token", Instant.now(), Instant.now().plusSeconds(300));
+        return OAuth2Authorization.withRegisteredClient(registeredClient)
+                .principalName("user")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .token(accessToken, metadata -> metadata.put(OAuth2Authorization.Token.INVALIDATED_METADATA_NAME, invalidated))
+                .build();
+    }
+}
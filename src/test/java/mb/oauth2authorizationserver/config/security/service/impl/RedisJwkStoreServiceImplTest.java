@@ -0,0 +1,106 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import com.nimbusds.jose.jwk.RSAKey;
+import mb.oauth2authorizationserver.constants.ServiceConstants;
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.utils.EnvelopeEncryptionUtils;
+import mb.oauth2authorizationserver.utils.SecurityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisJwkStoreServiceImplTest {
+
+    private final String masterKey = EnvelopeEncryptionUtils.generateMasterKey();
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<String> bucket;
+
+    @Mock
+    private RLock lock;
+
+    private RedisJwkStoreServiceImpl redisJwkStoreService;
+
+    @BeforeEach
+    void setUp() {
+        redisJwkStoreService = new RedisJwkStoreServiceImpl(redissonClient, masterKey);
+    }
+
+    @Test
+    void loadOrGenerate_ShouldReturnSharedKey_WhenKeyAlreadyStored() {
+        // Arrange
+        when(redissonClient.<String>getBucket(ServiceConstants.JWK_STORE_KEY, StringCodec.INSTANCE)).thenReturn(bucket);
+        RSAKey storedKey = SecurityUtils.generateRsa();
+        when(bucket.get()).thenReturn(EnvelopeEncryptionUtils.encrypt(storedKey.toJSONString(), masterKey));
+
+        // Act
+        RSAKey rsaKey = redisJwkStoreService.loadOrGenerate();
+
+        // Assertions
+        assertEquals(storedKey.getKeyID(), rsaKey.getKeyID());
+        assertEquals(storedKey.getModulus(), rsaKey.getModulus());
+        verify(redissonClient, never()).getLock(anyString());
+    }
+
+    @Test
+    void loadOrGenerate_ShouldGenerateAndStoreEncryptedKey_WhenElectedLeader() throws Exception {
+        // Arrange
+        when(redissonClient.<String>getBucket(ServiceConstants.JWK_STORE_KEY, StringCodec.INSTANCE)).thenReturn(bucket);
+        when(bucket.get()).thenReturn(null);
+        when(redissonClient.getLock(ServiceConstants.JWK_STORE_LOCK)).thenReturn(lock);
+        when(lock.tryLock(anyLong(), anyLong(), eq(TimeUnit.SECONDS))).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+        ArgumentCaptor<String> envelopeCaptor = ArgumentCaptor.forClass(String.class);
+        when(bucket.setIfAbsent(envelopeCaptor.capture())).thenReturn(true);
+
+        // Act
+        RSAKey rsaKey = redisJwkStoreService.loadOrGenerate();
+
+        // Assertions
+        assertEquals(rsaKey.getKeyID(), RSAKey.parse(EnvelopeEncryptionUtils.decrypt(envelopeCaptor.getValue(), masterKey)).getKeyID());
+        verify(lock).unlock();
+    }
+
+    @Test
+    void loadOrGenerate_ShouldThrowBaseException_WhenLockNotAcquiredAndNoKeyStored() throws InterruptedException {
+        // Arrange
+        when(redissonClient.<String>getBucket(ServiceConstants.JWK_STORE_KEY, StringCodec.INSTANCE)).thenReturn(bucket);
+        when(bucket.get()).thenReturn(null);
+        when(redissonClient.getLock(ServiceConstants.JWK_STORE_LOCK)).thenReturn(lock);
+        when(lock.tryLock(anyLong(), anyLong(), eq(TimeUnit.SECONDS))).thenReturn(false);
+
+        // Act
+        // Assertions
+        assertThrows(BaseException.class, () -> redisJwkStoreService.loadOrGenerate());
+        verify(bucket, never()).setIfAbsent(anyString());
+    }
+
+    @Test
+    void constructor_ShouldThrowBaseException_WhenMasterKeyIsBlank() {
+        // Act
+        // Assertions
+        assertThrows(BaseException.class, () -> new RedisJwkStoreServiceImpl(redissonClient, ""));
+    }
+}
@@ -0,0 +1,83 @@
+package mb.oauth2authorizationserver.config.security.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.security.authentication.ott.DefaultOneTimeToken;
+import org.springframework.security.authentication.ott.OneTimeToken;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisOneTimeTokenStoreServiceImplTest {
+
+    private static final String TOKEN_KEY = "oauth2-authorization-server:ott:token";
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBucket<String> bucket;
+
+    private RedisOneTimeTokenStoreServiceImpl redisOneTimeTokenStoreService;
+
+    @BeforeEach
+    void setUp() {
+        redisOneTimeTokenStoreService = new RedisOneTimeTokenStoreServiceImpl(redissonClient);
+        when(redissonClient.<String>getBucket(TOKEN_KEY, StringCodec.INSTANCE)).thenReturn(bucket);
+    }
+
+    @Test
+    void save_ShouldStoreTokenWithNativeTtl_WhenTokenIsValid() {
+        // Arrange
+        Instant expiresAt = Instant.ofEpochMilli(Instant.now().plusSeconds(300).toEpochMilli());
+
+        // Act
+        redisOneTimeTokenStoreService.save(new DefaultOneTimeToken("token", "user:with:colons", expiresAt));
+
+        // Assertions
+        verify(bucket).set(eq(expiresAt.toEpochMilli() + ":user:with:colons"), any(Duration.class));
+    }
+
+    @Test
+    void consume_ShouldRestoreToken_WhenKeyIsPresent() {
+        // Arrange
+        Instant expiresAt = Instant.ofEpochMilli(1_900_000_000_000L);
+        when(bucket.getAndDelete()).thenReturn(expiresAt.toEpochMilli() + ":user:with:colons");
+
+        // Act
+        OneTimeToken oneTimeToken = redisOneTimeTokenStoreService.consume("token");
+
+        // Assertions
+        assertNotNull(oneTimeToken);
+        assertEquals("user:with:colons", oneTimeToken.getUsername());
+        assertEquals(expiresAt, oneTimeToken.getExpiresAt());
+        assertEquals("token", oneTimeToken.getTokenValue());
+    }
+
+    @Test
+    void consume_ShouldReturnNull_WhenTokenWasAlreadyConsumed() {
+        // Arrange
+        when(bucket.getAndDelete()).thenReturn(null);
+
+        // Act
+        OneTimeToken oneTimeToken = redisOneTimeTokenStoreService.consume("token");
+
+        // Assertions
+        assertNull(oneTimeToken);
+    }
+}
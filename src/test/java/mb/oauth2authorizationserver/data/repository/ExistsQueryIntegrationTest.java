@@ -0,0 +1,71 @@
+package mb.oauth2authorizationserver.data.repository;
+
+import mb.oauth2authorizationserver.config.RedisTestConfiguration;
+import mb.oauth2authorizationserver.data.entity.Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=mb.oauth2authorizationserver.data.repository.RecordingStatementInspector")
+@SpringBootTest(classes = RedisTestConfiguration.class)
+class ExistsQueryIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client();
+        client.setId("exists-query-test");
+        client.setClientId("exists-query-client");
+        clientRepository.saveAndFlush(client);
+        RecordingStatementInspector.clear();
+    }
+
+    @Test
+    void existsByUsername_ShouldIssueSingleColumnQuery_WhenUserHasAuthorities() {
+        // Act
+        boolean exists = userRepository.existsByUsername("Admin");
+        boolean missing = userRepository.existsByUsername("missing-user");
+
+        // Assertions
+        assertThat(exists).isTrue();
+        assertThat(missing).isFalse();
+        assertSingleColumnQueryPerCheck("users");
+    }
+
+    @Test
+    void existsByClientId_ShouldIssueSingleColumnQuery_WhenClientExists() {
+        // Act
+        boolean exists = clientRepository.existsByClientId("exists-query-client");
+        boolean missing = clientRepository.existsByClientId("missing-client");
+
+        // Assertions
+        assertThat(exists).isTrue();
+        assertThat(missing).isFalse();
+        assertSingleColumnQueryPerCheck("client");
+    }
+
+    private static void assertSingleColumnQueryPerCheck(String table) {
+        List<String> statements = RecordingStatementInspector.statements();
+        assertThat(statements)
+                .hasSize(2)
+                .allSatisfy(sql -> {
+                    String normalized = sql.toLowerCase();
+                    // One selected column (the id or a constant), no entity columns and no authorities fetch.
+                    assertThat(normalized.substring(0, normalized.indexOf(" from "))).doesNotContain(",");
+                    assertThat(normalized).contains(table).doesNotContain("join").doesNotContain("authorities");
+                });
+    }
+}
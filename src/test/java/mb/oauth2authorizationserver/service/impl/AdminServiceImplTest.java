@@ -1,5 +1,6 @@
 package mb.oauth2authorizationserver.service.impl;
 
+import mb.oauth2authorizationserver.api.response.SessionEvictionJobResponse;
 import mb.oauth2authorizationserver.config.security.service.TokenService;
 import mb.oauth2authorizationserver.config.security.service.UserLoginAttemptService;
 import mb.oauth2authorizationserver.constants.ErrorMessageConstants;
@@ -8,10 +9,12 @@ import mb.oauth2authorizationserver.data.entity.Client;
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
 import mb.oauth2authorizationserver.data.entity.UserLoginAttempt;
 import mb.oauth2authorizationserver.model.enums.GrantType;
+import mb.oauth2authorizationserver.model.enums.SessionEvictionStatus;
 import mb.oauth2authorizationserver.model.request.ClientFormData;
 import mb.oauth2authorizationserver.model.request.ClientUpdateFormData;
 import mb.oauth2authorizationserver.model.request.UserFormData;
 import mb.oauth2authorizationserver.service.ClientService;
+import mb.oauth2authorizationserver.service.SessionEvictionService;
 import mb.oauth2authorizationserver.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -68,6 +71,9 @@ class AdminServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private SessionEvictionService sessionEvictionService;
+
     @Mock
     private UserLoginAttemptService userLoginAttemptService;
 
@@ -461,16 +467,24 @@ class AdminServiceImplTest {
     }
 
     @Test
-    void evictAllSessions_ShouldEvictAllSessions_WhenEvictionRequested() {
-        SecurityUser user = new SecurityUser();
-        user.setId(1L);
-        SessionInformation sessionInfo = mock(SessionInformation.class);
-        when(sessionRegistry.getAllPrincipals()).thenReturn(List.of(user));
-        when(sessionRegistry.getAllSessions(user, false)).thenReturn(List.of(sessionInfo));
+    void evictAllSessions_ShouldStartEvictionJob_WhenEvictionRequested() {
+        SessionEvictionJobResponse job = new SessionEvictionJobResponse(UUID.randomUUID(), SessionEvictionStatus.RUNNING, 0, 0);
+        when(sessionEvictionService.createJob()).thenReturn(job);
+
+        SessionEvictionJobResponse result = adminService.evictAllSessions();
+
+        assertEquals(job, result);
+        verify(sessionEvictionService).evictAllSessions(job.jobId());
+    }
+
+    @Test
+    void findSessionEvictionJob_ShouldReturnJob_WhenJobExists() {
+        UUID jobId = UUID.randomUUID();
+        SessionEvictionJobResponse job = new SessionEvictionJobResponse(jobId, SessionEvictionStatus.COMPLETED, 3, 3);
+        when(sessionEvictionService.findJob(jobId)).thenReturn(Optional.of(job));
 
-        adminService.evictAllSessions();
+        Optional<SessionEvictionJobResponse> result = adminService.findSessionEvictionJob(jobId);
 
-        verify(sessionRepository).deleteById(sessionInfo.getSessionId());
-        verify(sessionRegistry).removeSessionInformation(sessionInfo.getSessionId());
+        assertEquals(Optional.of(job), result);
     }
 }
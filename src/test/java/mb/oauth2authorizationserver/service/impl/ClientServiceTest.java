@@ -1,5 +1,6 @@
 package mb.oauth2authorizationserver.service.impl;
 
+import mb.oauth2authorizationserver.config.jpa.FullTextQueryBuilder;
 import mb.oauth2authorizationserver.data.entity.Client;
 import mb.oauth2authorizationserver.data.repository.ClientRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -35,6 +37,9 @@ class ClientServiceTest {
     @Mock
     private ClientRepository clientRepository;
 
+    @Spy
+    private FullTextQueryBuilder fullTextQueryBuilder = new FullTextQueryBuilder("jdbc:mariadb://localhost:3306/oauth2_authorization_server");
+
     private Client client;
 
     @BeforeEach
@@ -69,7 +74,7 @@ class ClientServiceTest {
     @Test
     void existsByClientId_ShouldReturnTrue_WhenClientExists() {
         String clientId = "test-client";
-        when(clientRepository.findByClientId(clientId)).thenReturn(Optional.of(client));
+        when(clientRepository.existsByClientId(clientId)).thenReturn(true);
 
         boolean result = clientService.existsByClientId(clientId);
 
@@ -79,7 +84,7 @@ class ClientServiceTest {
     @Test
     void existsByClientId_ShouldReturnFalse_WhenClientDoesNotExist() {
         String clientId = "non-existent";
-        when(clientRepository.findByClientId(clientId)).thenReturn(Optional.empty());
+        when(clientRepository.existsByClientId(clientId)).thenReturn(false);
 
         boolean result = clientService.existsByClientId(clientId);
 
@@ -100,7 +105,7 @@ class ClientServiceTest {
     @Test
     void searchByClientId_ShouldReturnFilteredClients_WhenSearchTermProvided() {
         Page<Client> page = new PageImpl<>(List.of(client), PageRequest.of(0, 20), 1);
-        when(clientRepository.findByClientIdContainingIgnoreCase(eq("test"), any(Pageable.class))).thenReturn(page);
+        when(clientRepository.searchByClientId(eq("+test*"), any(Pageable.class))).thenReturn(page);
 
         Page<Client> result = clientService.searchByClientId("test", PageRequest.of(0, 20));
 
@@ -108,6 +113,17 @@ class ClientServiceTest {
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    void searchByClientId_ShouldUseSubstringSearch_WhenSearchTermIsShorterThanIndexedWords() {
+        Page<Client> page = new PageImpl<>(List.of(client), PageRequest.of(0, 20), 1);
+        when(clientRepository.findByClientIdContainingIgnoreCase(eq("te"), any(Pageable.class))).thenReturn(page);
+
+        Page<Client> result = clientService.searchByClientId("te", PageRequest.of(0, 20));
+
+        assertEquals(1, result.getTotalElements());
+        verify(clientRepository, times(0)).searchByClientId(any(), any(Pageable.class));
+    }
+
     @Test
     void save_ShouldSaveClient_WhenClientIsValid() {
         when(clientRepository.save(any(Client.class))).thenReturn(client);
@@ -0,0 +1,142 @@
+package mb.oauth2authorizationserver.service.impl;
+
+import mb.oauth2authorizationserver.api.request.DatabaseConfig;
+import mb.oauth2authorizationserver.api.request.MigrationRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.testcontainers.oracle.OracleContainer;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Migrates a skewed PostgreSQL schema to Oracle with {@link OracleToolsServiceImpl}: one table of 2M rows and nine
+ * of 20K rows. With {@code chunkRows} effectively unlimited every table is a single task, so the large table runs on
+ * one worker after the small ones finish; with {@code 100000} it is split into key ranges that all workers share.
+ * Needs Docker. Lives in the service package so the layer rules in ArchitectureTest allow it to use the service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class MigrationChunkingBenchmark {
+
+    private static final int SMALL_TABLES = 9;
+    private static final int SMALL_TABLE_ROWS = 20_000;
+    private static final int LARGE_TABLE_ROWS = 2_000_000;
+    private static final int WORKER_THREADS = 10;
+
+    @Param({"1000000000000", "100000"})
+    private long chunkRows;
+
+    private PostgreSQLContainer postgres;
+    private OracleContainer oracle;
+    private ThreadPoolTaskExecutor migrationWorkerExecutor;
+    private OracleToolsServiceImpl oracleToolsService;
+    private MigrationRequest request;
+
+    @Setup
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer(DockerImageName.parse("postgres:16-alpine"));
+        oracle = new OracleContainer(DockerImageName.parse("gvenzl/oracle-free:23-slim-faststart")).withUsername("benchmark").withPassword("benchmark");
+        postgres.start();
+        oracle.start();
+
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA skewed");
+            createSourceTable(statement, "large_table", LARGE_TABLE_ROWS);
+            for (int i = 1; i <= SMALL_TABLES; i++) {
+                createSourceTable(statement, "small_table_" + i, SMALL_TABLE_ROWS);
+            }
+        }
+
+        try (Connection connection = DriverManager.getConnection(oracle.getJdbcUrl(), oracle.getUsername(), oracle.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE BENCHMARK.LARGE_TABLE (ID NUMBER(19) PRIMARY KEY, PAYLOAD VARCHAR2(100))");
+            for (int i = 1; i <= SMALL_TABLES; i++) {
+                statement.execute("CREATE TABLE BENCHMARK.SMALL_TABLE_%d (ID NUMBER(19) PRIMARY KEY, PAYLOAD VARCHAR2(100))".formatted(i));
+            }
+        }
+
+        migrationWorkerExecutor = new ThreadPoolTaskExecutor();
+        migrationWorkerExecutor.setCorePoolSize(WORKER_THREADS);
+        migrationWorkerExecutor.setMaxPoolSize(WORKER_THREADS);
+        migrationWorkerExecutor.initialize();
+        oracleToolsService = new OracleToolsServiceImpl(migrationWorkerExecutor, chunkRows);
+        request = MigrationRequest.builder()
+                .source(DatabaseConfig.builder()
+                        .jdbcUrl(postgres.getJdbcUrl())
+                        .username(postgres.getUsername())
+                        .password(postgres.getPassword())
+                        .schema("skewed")
+                        .driverClassName("org.postgresql.Driver")
+                        .build())
+                .destination(DatabaseConfig.builder()
+                        .jdbcUrl(oracle.getJdbcUrl())
+                        .username(oracle.getUsername())
+                        .password(oracle.getPassword())
+                        .schema("BENCHMARK")
+                        .driverClassName("oracle.jdbc.OracleDriver")
+                        .build())
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncateTargetTables() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(oracle.getJdbcUrl(), oracle.getUsername(), oracle.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE BENCHMARK.LARGE_TABLE");
+            for (int i = 1; i <= SMALL_TABLES; i++) {
+                statement.execute("TRUNCATE TABLE BENCHMARK.SMALL_TABLE_%d".formatted(i));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        migrationWorkerExecutor.shutdown();
+        oracle.stop();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void migrate() {
+        // Called on the instance, not through the Spring proxy, so it runs synchronously
+        oracleToolsService.migrate(request);
+    }
+
+    private static void createSourceTable(Statement statement, String tableName, int rows) throws SQLException {
+        statement.execute("CREATE TABLE skewed.%s (id BIGINT PRIMARY KEY, payload VARCHAR(100))".formatted(tableName));
+        statement.execute("INSERT INTO skewed.%s SELECT i, md5(i::text) FROM generate_series(1, %d) AS i".formatted(tableName, rows));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MigrationChunkingBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -34,7 +34,8 @@ import static org.awaitility.Awaitility.await;
 @TestPropertySource(
         properties = {
                 "spring.flyway.enabled=false",
-                "spring.jpa.hibernate.ddl-auto=none"
+                "spring.jpa.hibernate.ddl-auto=none",
+                "migration.chunk-rows=25"
         }
 )
 class OracleToolsServiceImplIntegrationTest {
@@ -92,6 +93,11 @@ class OracleToolsServiceImplIntegrationTest {
             }
             stmt.execute("INSERT INTO source_schema.categories (name) VALUES ('Electronics')");
             stmt.execute("INSERT INTO source_schema.categories (name, parent_id) VALUES ('Phones', 1)");
+
+            // No primary key, so it is split into ctid page ranges instead of key ranges
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS heap_schema");
+            stmt.execute("CREATE TABLE heap_schema.events (payload VARCHAR(1000))");
+            stmt.execute("INSERT INTO heap_schema.events (payload) SELECT repeat('x', 900) || i FROM generate_series(1, 200) AS i");
         }
     }
 
@@ -123,6 +129,7 @@ class OracleToolsServiceImplIntegrationTest {
                         CONSTRAINT PK_CATEGORIES PRIMARY KEY (ID)
                     )
                     """);
+            stmt.execute("CREATE TABLE TESTUSER.EVENTS (PAYLOAD VARCHAR2(1000))");
         }
     }
 
@@ -231,6 +238,28 @@ class OracleToolsServiceImplIntegrationTest {
         });
     }
 
+    @Test
+    void migrate_ShouldMigrateEveryRow_WhenTableWithoutPrimaryKeyIsSplitIntoPageRanges() {
+        MigrationRequest request = MigrationRequest.builder()
+                .source(createPostgresConfig("heap_schema"))
+                .destination(createOracleConfig())
+                .build();
+
+        oracleToolsService.migrate(request);
+
+        await().atMost(60, TimeUnit.SECONDS).untilAsserted(() -> {
+            try (Connection conn = DriverManager.getConnection(
+                    oracle.getJdbcUrl(), oracle.getUsername(), oracle.getPassword());
+                 Statement stmt = conn.createStatement()) {
+
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*), COUNT(DISTINCT PAYLOAD) FROM TESTUSER.EVENTS");
+                rs.next();
+                assertThat(rs.getInt(1)).isEqualTo(200);
+                assertThat(rs.getInt(2)).isEqualTo(200);
+            }
+        });
+    }
+
     @Test
     void generateScripts_ShouldMapPostgresTypesToOracleTypes() {
         ScriptGenerationRequest request = ScriptGenerationRequest.builder()
@@ -2,6 +2,8 @@ package mb.oauth2authorizationserver.service.impl;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import mb.oauth2authorizationserver.config.security.RedisSessionEvictor;
+import mb.oauth2authorizationserver.config.security.VerifiedJwtCache;
 import mb.oauth2authorizationserver.config.security.service.impl.UserDetailsManagerImpl;
 import mb.oauth2authorizationserver.constants.ServiceConstants;
 import mb.oauth2authorizationserver.data.entity.SecurityUser;
@@ -19,10 +21,10 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
-import org.springframework.session.FindByIndexNameSessionRepository;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -53,10 +55,13 @@ class SecurityServiceImplTest {
     private HttpServletRequest servletRequest;
 
     @Mock
-    private FindByIndexNameSessionRepository<?> sessionRepository;
+    private SessionRegistry sessionRegistry;
 
     @Mock
-    private SessionRegistry sessionRegistry;
+    private VerifiedJwtCache verifiedJwtCache;
+
+    @Mock
+    private RedisSessionEvictor redisSessionEvictor;
 
     @Mock
     private SecurityContext securityContext;
@@ -76,8 +81,9 @@ class SecurityServiceImplTest {
                 authorizationRepository,
                 authenticationManager,
                 servletRequest,
-                sessionRepository,
-                sessionRegistry
+                sessionRegistry,
+                verifiedJwtCache,
+                redisSessionEvictor
         );
     }
 
@@ -131,6 +137,7 @@ class SecurityServiceImplTest {
 
             // Assertions
             verify(authorizationRepository).deleteByAccessTokenValue(token);
+            verify(verifiedJwtCache).revoke(token);
         }
     }
 
@@ -291,9 +298,7 @@ class SecurityServiceImplTest {
         securityService.invalidateExpiredSessions(principal);
 
         // Assertions
-        verify(sessionRepository).deleteById("expired-session-id");
-        verify(sessionRegistry).removeSessionInformation("expired-session-id");
-        verify(sessionRepository, never()).deleteById(activeSession.getSessionId());
+        verify(redisSessionEvictor).evict(principal, List.of("expired-session-id"));
     }
 
     @Test
@@ -313,10 +318,7 @@ class SecurityServiceImplTest {
         securityService.invalidateSessions(principal, false);
 
         // Assertions
-        verify(sessionRepository).deleteById("session-1");
-        verify(sessionRepository).deleteById("session-2");
-        verify(sessionRegistry).removeSessionInformation("session-1");
-        verify(sessionRegistry).removeSessionInformation("session-2");
+        verify(redisSessionEvictor).evict(principal, List.of("session-1", "session-2"));
     }
 
     @Test
@@ -0,0 +1,50 @@
+package mb.oauth2authorizationserver.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BearerTokenUtilsTest {
+
+    @Test
+    void resolveToken_ShouldReturnCredentials_WhenHeaderUsesBearerScheme() {
+        // Act
+        String token = BearerTokenUtils.resolveToken("Bearer abc.def.ghi");
+
+        // Assertions
+        assertEquals("abc.def.ghi", token);
+    }
+
+    @Test
+    void resolveToken_ShouldIgnoreSchemeCase_WhenHeaderUsesLowerCaseBearer() {
+        // Act
+        String token = BearerTokenUtils.resolveToken("bearer abc.def.ghi");
+
+        // Assertions
+        assertEquals("abc.def.ghi", token);
+    }
+
+    @Test
+    void resolveToken_ShouldReturnNull_WhenHeaderIsMissingOrUsesAnotherScheme() {
+        // Assertions
+        assertNull(BearerTokenUtils.resolveToken(null));
+        assertNull(BearerTokenUtils.resolveToken("Basic dXNlcjpwYXNz"));
+        assertNull(BearerTokenUtils.resolveToken("Bearer"));
+    }
+
+    @Test
+    void toAuthorities_ShouldShareInstances_WhenSameRoleIsMappedTwice() {
+        // Act
+        List<GrantedAuthority> first = BearerTokenUtils.toAuthorities(List.of("ROLE_USER", "ROLE_ADMIN"));
+        List<GrantedAuthority> second = BearerTokenUtils.toAuthorities(List.of("ROLE_ADMIN"));
+
+        // Assertions
+        assertEquals("ROLE_USER", first.get(0).getAuthority());
+        assertSame(first.get(1), second.get(0));
+    }
+}
@@ -0,0 +1,77 @@
+package mb.oauth2authorizationserver.utils;
+
+import mb.oauth2authorizationserver.exception.BaseException;
+import mb.oauth2authorizationserver.exception.OAuth2AuthorizationServerServiceErrorCode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnvelopeEncryptionUtilsTest {
+
+    private static final String PLAIN_TEXT = "{\"kty\":\"RSA\",\"kid\":\"test-kid\"}";
+
+    @Test
+    void encrypt_ShouldReturnEnvelopeThatDecryptsToOriginal_WhenMasterKeyIsValid() {
+        // Arrange
+        String masterKey = EnvelopeEncryptionUtils.generateMasterKey();
+
+        // Act
+        String envelope = EnvelopeEncryptionUtils.encrypt(PLAIN_TEXT, masterKey);
+
+        // Assertions
+        assertTrue(envelope.startsWith("v1."));
+        assertFalse(envelope.contains("test-kid"));
+        assertEquals(PLAIN_TEXT, EnvelopeEncryptionUtils.decrypt(envelope, masterKey));
+    }
+
+    @Test
+    void encrypt_ShouldUseFreshDataKey_WhenCalledTwiceWithSamePayload() {
+        // Arrange
+        String masterKey = EnvelopeEncryptionUtils.generateMasterKey();
+
+        // Act
+        String first = EnvelopeEncryptionUtils.encrypt(PLAIN_TEXT, masterKey);
+        String second = EnvelopeEncryptionUtils.encrypt(PLAIN_TEXT, masterKey);
+
+        // Assertions
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void decrypt_ShouldThrowBaseException_WhenMasterKeyIsDifferent() {
+        // Arrange
+        String envelope = EnvelopeEncryptionUtils.encrypt(PLAIN_TEXT, EnvelopeEncryptionUtils.generateMasterKey());
+        String otherMasterKey = EnvelopeEncryptionUtils.generateMasterKey();
+
+        // Act
+        BaseException baseException = assertThrows(BaseException.class, () -> EnvelopeEncryptionUtils.decrypt(envelope, otherMasterKey));
+
+        // Assertions
+        assertEquals(OAuth2AuthorizationServerServiceErrorCode.CAN_NOT_BE_DECODED, baseException.getErrorCode());
+    }
+
+    @Test
+    void decrypt_ShouldThrowBaseException_WhenEnvelopeIsMalformed() {
+        // Arrange
+        String masterKey = EnvelopeEncryptionUtils.generateMasterKey();
+
+        // Act
+        BaseException baseException = assertThrows(BaseException.class, () -> EnvelopeEncryptionUtils.decrypt("not-an-envelope", masterKey));
+
+        // Assertions
+        assertEquals(OAuth2AuthorizationServerServiceErrorCode.CAN_NOT_BE_DECODED, baseException.getErrorCode());
+    }
+
+    @Test
+    void encrypt_ShouldThrowBaseException_WhenMasterKeyIsBlank() {
+        // Act
+        BaseException baseException = assertThrows(BaseException.class, () -> EnvelopeEncryptionUtils.encrypt(PLAIN_TEXT, ""));
+
+        // Assertions
+        assertEquals(OAuth2AuthorizationServerServiceErrorCode.INVALID_VALUE, baseException.getErrorCode());
+    }
+}
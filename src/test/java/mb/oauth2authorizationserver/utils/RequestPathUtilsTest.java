@@ -0,0 +1,42 @@
+package mb.oauth2authorizationserver.utils;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestPathUtilsTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/css/bootstrap.min.css", "/js/bootstrap.bundle.min.js", "/actuator/health", "/favicon.ico", "/webjars/x.js"})
+    void isFastPath_ShouldReturnTrue_WhenRequestTargetsStaticOrActuatorPath(String uri) {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+
+        // Act & Assertions
+        assertTrue(RequestPathUtils.isFastPath(request));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/oauth2/token", "/login", "/favicon.ico.bak", "/cssx/a.css", "/"})
+    void isFastPath_ShouldReturnFalse_WhenRequestTargetsApplicationPath(String uri) {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+
+        // Act & Assertions
+        assertFalse(RequestPathUtils.isFastPath(request));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/sso/css/bootstrap.min.css", "/sso/actuator/prometheus"})
+    void isFastPath_ShouldIgnoreContextPath_WhenApplicationIsDeployedUnderContextPath(String uri) {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setContextPath("/sso");
+
+        // Act & Assertions
+        assertTrue(RequestPathUtils.isFastPath(request));
+    }
+}
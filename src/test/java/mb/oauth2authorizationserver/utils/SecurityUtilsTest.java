@@ -22,6 +22,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -156,4 +157,16 @@ class SecurityUtilsTest {
         // Assertions
         assertThrows(OAuth2AuthenticationException.class, () -> SecurityUtils.getAuthenticatedClientElseThrowInvalidClient(authentication));
     }
+
+    @Test
+    void hmac_ShouldBeStableWithinProcessAndSeparateParts_WhenCalledTwice() {
+        // Act
+        String first = SecurityUtils.hmac("user", "secret");
+        String second = SecurityUtils.hmac("user", "secret");
+
+        // Assertions
+        assertEquals(first, second);
+        assertNotEquals(first, SecurityUtils.hmac("user", "other"));
+        assertNotEquals(SecurityUtils.hmac("ab", "c"), SecurityUtils.hmac("a", "bc"));
+    }
 }
@@ -0,0 +1,41 @@
+package mb.oauth2authorizationserver.utils;
+
+import org.junit.jupiter.api.Test;
+import ua_parser.Client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserAgentUtilsTest {
+
+    private static final String CHROME_ON_WINDOWS = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    @Test
+    void parse_ShouldReturnParsedClient_WhenUserAgentIsKnownBrowser() {
+        // Act
+        Client client = UserAgentUtils.parse(CHROME_ON_WINDOWS);
+
+        // Assertions
+        assertEquals("Chrome", client.userAgent.family);
+        assertEquals("Windows", client.os.family);
+    }
+
+    @Test
+    void parse_ShouldReturnCachedClient_WhenSameUserAgentIsParsedTwice() {
+        // Act
+        Client first = UserAgentUtils.parse(CHROME_ON_WINDOWS);
+        Client second = UserAgentUtils.parse(CHROME_ON_WINDOWS);
+
+        // Assertions
+        assertSame(first, second);
+    }
+
+    @Test
+    void parse_ShouldReturnOtherFamily_WhenUserAgentIsMissing() {
+        // Act
+        Client client = UserAgentUtils.parse(null);
+
+        // Assertions
+        assertEquals("Other", client.userAgent.family);
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -148,6 +149,50 @@ class XssSanitizerUtilsTest {
         }
     }
 
+    @Nested
+    @DisplayName("sanitizeJson(byte[]) - streaming JSON body sanitization tests")
+    class SanitizeJsonBytesTests {
+
+        @Test
+        @DisplayName("Should remove script tags from string values only")
+        void shouldSanitizeStringValuesOnly() {
+            byte[] json = "{\"onload=\":\"<script>alert('xss')</script>John\",\"age\":42,\"ratio\":1.50,\"tags\":[\"javascript:hack()\",null,true]}".getBytes(StandardCharsets.UTF_8);
+
+            String result = new String(XssSanitizerUtils.sanitizeJson(json), StandardCharsets.UTF_8);
+
+            assertEquals("{\"onload=\":\"John\",\"age\":42,\"ratio\":1.50,\"tags\":[\"hack()\",null,true]}", result);
+        }
+
+        @Test
+        @DisplayName("Should remove script tags hidden behind JSON escapes")
+        void shouldSanitizeEscapedValues() {
+            byte[] json = "{\"name\":\"\\u003cscript>alert(1)\\u003c/script>Jane\"}".getBytes(StandardCharsets.UTF_8);
+
+            String result = new String(XssSanitizerUtils.sanitizeJson(json), StandardCharsets.UTF_8);
+
+            assertEquals("{\"name\":\"Jane\"}", result);
+        }
+
+        @Test
+        @DisplayName("Should fall back to text sanitization for malformed JSON")
+        void shouldFallBackForMalformedJson() {
+            byte[] body = "name=<script>alert(1)</script>John&x=".getBytes(StandardCharsets.UTF_8);
+
+            String result = new String(XssSanitizerUtils.sanitizeJson(body), StandardCharsets.UTF_8);
+
+            assertFalse(result.contains("<script>"), "Script tag should be removed");
+            assertTrue(result.contains("John"), "Safe content should be preserved");
+        }
+
+        @Test
+        @DisplayName("Should return empty body unchanged")
+        void shouldReturnEmptyBody() {
+            byte[] body = new byte[0];
+
+            assertEquals(0, XssSanitizerUtils.sanitizeJson(body).length);
+        }
+    }
+
     @Nested
     @DisplayName("sanitizeForAttribute() tests")
     class SanitizeForAttributeTests {